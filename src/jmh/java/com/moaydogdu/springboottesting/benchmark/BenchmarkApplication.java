@@ -0,0 +1,150 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.SpringBootTestingApplication;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boots the application against H2 in MySQL mode (default) or a Testcontainers MySQL
+// and seeds the employees table, so every benchmark measures the real Spring wiring.
+public final class BenchmarkApplication {
+
+    public static final String H2 = "h2";
+
+    public static final String MYSQL = "mysql";
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private static MySQLContainer<?> mySqlContainer;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(
+            String database,
+            Map<String, Object> properties
+    ) {
+        return start(database, properties, WebApplicationType.NONE);
+    }
+
+    // embedded Tomcat on a random port, see port(context)
+    public static ConfigurableApplicationContext startWeb(
+            String database,
+            Map<String, Object> properties
+    ) {
+        Map<String, Object> webProperties = new LinkedHashMap<>(properties);
+        webProperties.putIfAbsent("server.port", "0");
+        return start(database, webProperties, WebApplicationType.SERVLET);
+    }
+
+    public static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext start(
+            String database,
+            Map<String, Object> properties,
+            WebApplicationType webApplicationType
+    ) {
+        Map<String, Object> overrides = new LinkedHashMap<>(databaseProperties(database));
+        // a fresh schema per trial from the mappings; StartupBenchmark turns the migrations back on
+        overrides.put("spring.jpa.hibernate.ddl-auto", "create");
+        overrides.put("spring.flyway.enabled", "false");
+        overrides.put("logging.level.root", "WARN");
+        overrides.putAll(properties);
+
+        // passed as command line arguments so they win over application.properties
+        String[] args = overrides.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    // rows get ids 1..rows (the id generator starts at 1 on a fresh schema)
+    // and unique (firstName, lastName) pairs
+    public static void seed(
+            ConfigurableApplicationContext context,
+            int rows
+    ) {
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+
+        List<Employee> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            batch.add(employee(i));
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                employeeRepository.batchInsert(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public static Employee employee(long i) {
+        return Employee.builder()
+                .firstName(firstName(i))
+                .lastName(lastName(i))
+                .email(email(i))
+                .build();
+    }
+
+    public static String firstName(long i) {
+        return "First" + (i / 1000);
+    }
+
+    public static String lastName(long i) {
+        return "Last" + (i % 1000);
+    }
+
+    public static String email(long i) {
+        return "employee" + i + "@benchmark.com";
+    }
+
+    private static Map<String, Object> databaseProperties(String database) {
+        if (H2.equals(database)) {
+            return Map.of(
+                    "spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username", "sa",
+                    "spring.datasource.password", "",
+                    "spring.datasource.driver-class-name", "org.h2.Driver",
+                    "spring.jpa.database", "h2",
+                    "spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect"
+            );
+        }
+
+        if (MYSQL.equals(database)) {
+            if (!DockerClientFactory.instance().isDockerAvailable()) {
+                throw new IllegalStateException("database=mysql needs Docker for Testcontainers");
+            }
+            MySQLContainer<?> container = mySqlContainer();
+            return Map.of(
+                    "spring.datasource.url", container.getJdbcUrl(),
+                    "spring.datasource.username", container.getUsername(),
+                    "spring.datasource.password", container.getPassword()
+            );
+        }
+
+        throw new IllegalArgumentException("Unknown benchmark database: " + database);
+    }
+
+    private static synchronized MySQLContainer<?> mySqlContainer() {
+        if (mySqlContainer == null) {
+            mySqlContainer = new MySQLContainer<>("mysql:8.0.33")
+                    .withUsername("root")
+                    .withPassword("rootPassword")
+                    .withDatabaseName("employee_management");
+            mySqlContainer.start();
+        }
+        return mySqlContainer;
+    }
+}
@@ -0,0 +1,141 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Throughput of the EmployeeController endpoints against the Hikari pool size, with more
+// client threads than connections so the pool saturates. The cache is off so every request
+// borrows a connection. awaitingConnection sums the pool's pending count seen after each
+// request, so awaitingConnection / requests is the mean queue in front of the pool.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"2", "5", "10", "20", "40"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext context;
+
+    private HikariDataSource dataSource;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.startWeb(database, Map.of(
+                "employee.cache.enabled", false,
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "spring.datasource.hikari.minimum-idle", poolSize,
+                "spring.datasource.hikari.connection-timeout", 30000
+        ));
+        BenchmarkApplication.seed(context, rows);
+
+        dataSource = context.getBean(HikariDataSource.class);
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api/employees";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getEmployeeById(Counters counters) throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                .GET()
+                .build(), counters);
+    }
+
+    @Benchmark
+    public int getEmployeesPage(Counters counters) throws IOException, InterruptedException {
+        long after = ThreadLocalRandom.current().nextLong(0, rows);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?limit=100&after=" + after))
+                .GET()
+                .build(), counters);
+    }
+
+    @Benchmark
+    public int patchEmployee(Counters counters) throws IOException, InterruptedException {
+        long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"lastName\":\"Patched\"}"))
+                .build(), counters);
+    }
+
+    @Benchmark
+    public int createEmployee(Counters counters) throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        String body = "{\"firstName\":\"Pool" + n + "\",\"lastName\":\"Test\",\"email\":\"pool" + n + "@benchmark.com\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), counters);
+    }
+
+    private int send(HttpRequest request, Counters counters) throws IOException, InterruptedException {
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        counters.requests++;
+        counters.awaitingConnection += dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
+        return status;
+    }
+
+    // per client thread, summed by JMH into jmh-result.json as secondary metrics
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long requests;
+
+        public long awaitingConnection;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            awaitingConnection = 0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Thundering herd: 32 threads reading the same hotKeys employees by id and by email, with
+// the read-through and second-level caches off so every read is a database read (an expired
+// or cold popular profile). coalescing=false is one query per call; coalescing=true shares
+// the query in flight. reads and queries (from the Hibernate statistics) land in jmh-result.json;
+// queries / reads is the number of queries per read
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class EmployeeCoalescingBenchmark {
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"1"})
+    private int hotKeys;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(database, Map.of(
+                "employee.coalescing.enabled", coalescing,
+                "employee.cache.enabled", false,
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", false,
+                "spring.jpa.properties.hibernate.cache.use_query_cache", false
+        ));
+        BenchmarkApplication.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById(Counters counters) {
+        counters.reads++;
+        return employeeService.getEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeByEmail(Counters counters) {
+        counters.reads++;
+        return employeeService.getEmployeeByEmail(BenchmarkApplication.email(randomId()));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, hotKeys + 1);
+    }
+
+    // per thread and summed by JMH, so the shared statement count is reported by thread 0 only
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long reads;
+
+        private Statistics statistics;
+
+        @Setup(Level.Iteration)
+        public void reset(EmployeeCoalescingBenchmark benchmark, ThreadParams threadParams) {
+            reads = 0;
+            statistics = threadParams.getThreadIndex() == 0 ? benchmark.statistics : null;
+        }
+
+        public long queries() {
+            return statistics == null ? 0 : statistics.getPrepareStatementCount();
+        }
+    }
+}
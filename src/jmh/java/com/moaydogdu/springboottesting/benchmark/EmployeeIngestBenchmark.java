@@ -0,0 +1,93 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Burst of POST /api/employees: synchronous insert (201) against the write-behind queue (202).
+// With ingest=true the latency is the time to accept; the writer catches up after every
+// iteration, so the next one starts with an empty queue. The queue is sized so nothing is
+// rejected; employee.ingest.requests{result=rejected} would show it otherwise
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class EmployeeIngestBenchmark {
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"false", "true"})
+    private boolean ingest;
+
+    private ConfigurableApplicationContext context;
+
+    private MeterRegistry meterRegistry;
+
+    private HttpClient httpClient;
+
+    private URI employeesUri;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.startWeb(database, Map.of(
+                "employee.ingest.enabled", ingest,
+                "employee.ingest.queue-capacity", 1_000_000,
+                "employee.cache.enabled", false
+        ));
+        meterRegistry = context.getBean(MeterRegistry.class);
+
+        httpClient = HttpClient.newHttpClient();
+        employeesUri = URI.create("http://localhost:" + BenchmarkApplication.port(context) + "/api/employees");
+    }
+
+    @TearDown(Level.Iteration)
+    public void awaitWriter() throws InterruptedException {
+        while (ingest && meterRegistry.get("employee.ingest.queue.size").gauge().value() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createEmployee() throws IOException, InterruptedException {
+        long n = sequence.incrementAndGet();
+        String body = "{\"firstName\":\"Burst" + n + "\",\"lastName\":\"Test\",\"email\":\"burst" + n + "@benchmark.com\"}";
+        HttpRequest request = HttpRequest.newBuilder(employeesUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,121 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Bulk insert throughput into an empty table: one timed run per invocation, so the
+// score is the wall time for all rows. batchSize=1 turns Hibernate statement batching off.
+// e.g. -Djmh.args="EmployeeInsertBenchmark -p database=mysql -p rows=1000000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EmployeeInsertBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeService employeeService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(database, Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", batchSize,
+                "employee.batch.chunk-size", CHUNK_SIZE
+        ));
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeService = context.getBean(EmployeeService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    // ids keep counting up across invocations, only the rows go
+    @Setup(Level.Invocation)
+    public void emptyTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE employees");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // plain Spring Data saveAll, one transaction per chunk
+    @Benchmark
+    public int saveAll() {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            List<Employee> chunk = chunk(from);
+            transactionTemplate.executeWithoutResult(status -> employeeRepository.saveAll(chunk));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int batchInsert() {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            employeeRepository.batchInsert(chunk(from));
+        }
+        return rows;
+    }
+
+    // the import endpoint path, including its per-chunk duplicate check
+    @Benchmark
+    public List<EmployeeImportResult> saveEmployees() {
+        return employeeService.saveEmployees(
+                LongStream.rangeClosed(1, rows)
+                        .mapToObj(BenchmarkApplication::employee)
+                        .iterator()
+        );
+    }
+
+    private List<Employee> chunk(int from) {
+        int to = Math.min(from + CHUNK_SIZE, rows);
+        List<Employee> chunk = new ArrayList<>(to - from);
+        for (int i = from + 1; i <= to; i++) {
+            chunk.add(BenchmarkApplication.employee(i));
+        }
+        return chunk;
+    }
+}
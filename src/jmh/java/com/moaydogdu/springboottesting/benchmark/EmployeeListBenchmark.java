@@ -0,0 +1,108 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Listing employees, query plus JSON: managed entities through Jackson's bean serializer
+// against EmployeeView projections through EmployeeJsonComponent, over the whole table.
+// viewsReflective isolates the serializer; httpGetPage is GET /api/employees, one default
+// keyset page. Run with -prof gc for allocation per call.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EmployeeListBenchmark {
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeService employeeService;
+
+    private ObjectMapper objectMapper;
+
+    // no @JsonComponent serializers registered
+    private ObjectMapper reflectiveObjectMapper;
+
+    private HttpClient httpClient;
+
+    private HttpRequest getPageRequest;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.startWeb(database, Map.of("employee.cache.enabled", false));
+        BenchmarkApplication.seed(context, rows);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeService = context.getBean(EmployeeService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        reflectiveObjectMapper = new ObjectMapper();
+
+        httpClient = HttpClient.newHttpClient();
+        getPageRequest = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + BenchmarkApplication.port(context) + "/api/employees"
+        )).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeRepository.findAll());
+    }
+
+    @Benchmark
+    public byte[] views() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeRepository.findAllBy(EmployeeView.class));
+    }
+
+    @Benchmark
+    public byte[] viewsReflective() throws IOException {
+        return reflectiveObjectMapper.writeValueAsBytes(employeeRepository.findAllBy(EmployeeView.class));
+    }
+
+    @Benchmark
+    public byte[] names() throws IOException {
+        return objectMapper.writeValueAsBytes(employeeService.getAllEmployeeNames());
+    }
+
+    // end to end; allocation here includes the HTTP client
+    @Benchmark
+    public byte[] httpGetPage() throws IOException, InterruptedException {
+        return httpClient.send(getPageRequest, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
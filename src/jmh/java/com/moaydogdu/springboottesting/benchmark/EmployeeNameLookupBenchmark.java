@@ -0,0 +1,110 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The four legacy findBy* variants against the bounded lookup and its projection; run with -p rows=1000000.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class EmployeeNameLookupBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(database, Map.of());
+        BenchmarkApplication.seed(context, rows);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee findByJPQL() {
+        long i = randomId();
+        return employeeRepository.findByJPQL(BenchmarkApplication.firstName(i), BenchmarkApplication.lastName(i));
+    }
+
+    @Benchmark
+    public Employee findByJPQLNamedParams() {
+        long i = randomId();
+        return employeeRepository.findByJPQLNamedParams(BenchmarkApplication.firstName(i), BenchmarkApplication.lastName(i));
+    }
+
+    @Benchmark
+    public Employee findByNativeSQL() {
+        long i = randomId();
+        return employeeRepository.findByNativeSQL(BenchmarkApplication.firstName(i), BenchmarkApplication.lastName(i));
+    }
+
+    @Benchmark
+    public Employee findByNativeSQLNamedParams() {
+        long i = randomId();
+        return employeeRepository.findByNativeSQLNamedParams(BenchmarkApplication.firstName(i), BenchmarkApplication.lastName(i));
+    }
+
+    @Benchmark
+    public List<Employee> findByFirstNameAndLastName() {
+        long i = randomId();
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                BenchmarkApplication.firstName(i),
+                BenchmarkApplication.lastName(i),
+                FIRST_PAGE,
+                Employee.class
+        );
+    }
+
+    @Benchmark
+    public List<EmployeeNameView> findNameViewByFirstNameAndLastName() {
+        long i = randomId();
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                BenchmarkApplication.firstName(i),
+                BenchmarkApplication.lastName(i),
+                FIRST_PAGE,
+                EmployeeNameView.class
+        );
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Email and name lookups with the second-level cache off and on, over a hot set of hotRows
+// employees out of rows. findEmployeeByEmail is the derived query and never uses the cache,
+// findByNaturalEmail goes through the natural-id and entity regions, the name lookup through
+// the query cache. Hits and misses per cache come from the Hibernate statistics and land in
+// jmh-result.json; hit ratio = hits / (hits + misses)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSecondLevelCacheBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({BenchmarkApplication.H2})
+    private String database;
+
+    @Param({"false", "true"})
+    private boolean secondLevelCache;
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"10000"})
+    private int hotRows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeRepository employeeRepository;
+
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(database, Map.of(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache", secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache", secondLevelCache
+        ));
+        BenchmarkApplication.seed(context, rows);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+
+        // each hot row looked up once, so the measurement sees warm caches rather than the
+        // first misses of every key
+        for (long i = 1; i <= hotRows; i++) {
+            employeeRepository.findByNaturalEmail(BenchmarkApplication.email(i));
+            employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                    BenchmarkApplication.firstName(i),
+                    BenchmarkApplication.lastName(i),
+                    FIRST_PAGE,
+                    Employee.class
+            );
+        }
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findEmployeeByEmail(CacheCounters counters) {
+        return employeeRepository.findEmployeeByEmail(BenchmarkApplication.email(randomId()));
+    }
+
+    @Benchmark
+    public Optional<Employee> findByNaturalEmail(CacheCounters counters) {
+        return employeeRepository.findByNaturalEmail(BenchmarkApplication.email(randomId()));
+    }
+
+    @Benchmark
+    public List<Employee> findByFirstNameAndLastName(CacheCounters counters) {
+        long i = randomId();
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                BenchmarkApplication.firstName(i),
+                BenchmarkApplication.lastName(i),
+                FIRST_PAGE,
+                Employee.class
+        );
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, hotRows + 1);
+    }
+
+    // read from the shared statistics at the end of each iteration; counters are summed over
+    // threads, so only thread 0 reports them
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheCounters {
+
+        private Statistics statistics;
+
+        @Setup(Level.Iteration)
+        public void reset(EmployeeSecondLevelCacheBenchmark benchmark, ThreadParams threadParams) {
+            statistics = threadParams.getThreadIndex() == 0 ? benchmark.statistics : null;
+        }
+
+        public long secondLevelHits() {
+            return statistics == null ? 0 : statistics.getSecondLevelCacheHitCount();
+        }
+
+        public long secondLevelMisses() {
+            return statistics == null ? 0 : statistics.getSecondLevelCacheMissCount();
+        }
+
+        public long naturalIdHits() {
+            return statistics == null ? 0 : statistics.getNaturalIdCacheHitCount();
+        }
+
+        public long naturalIdMisses() {
+            return statistics == null ? 0 : statistics.getNaturalIdCacheMissCount();
+        }
+
+        public long queryCacheHits() {
+            return statistics == null ? 0 : statistics.getQueryCacheHitCount();
+        }
+
+        public long queryCacheMisses() {
+            return statistics == null ? 0 : statistics.getQueryCacheMissCount();
+        }
+    }
+}
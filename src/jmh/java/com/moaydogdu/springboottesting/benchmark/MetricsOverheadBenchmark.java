@@ -0,0 +1,84 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import com.moaydogdu.springboottesting.config.OutcomeTimedAspect;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the hot-path instrumentation on its own: a bare call, the same call recorded by a
+// histogram Timer, and the same call through the @Timed aspect proxy that wraps the
+// employee services. The differences are the per-call overhead; they should stay in nanoseconds.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private Lookup lookup;
+
+    private Lookup timedLookup;
+
+    private Timer timer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        lookup = new Lookup();
+        timer = Timer.builder("employee.benchmark")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Lookup());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new OutcomeTimedAspect(meterRegistry));
+        timedLookup = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public String direct() {
+        return lookup.email(nextId());
+    }
+
+    @Benchmark
+    public String histogramTimer() {
+        long id = nextId();
+        return timer.record(() -> lookup.email(id));
+    }
+
+    @Benchmark
+    public String timedAspect() {
+        return timedLookup.email(nextId());
+    }
+
+    private static long nextId() {
+        return ThreadLocalRandom.current().nextLong(1, 10_000);
+    }
+
+    // stands in for a service method whose own work is negligible, e.g. a cache hit
+    @Timed(value = "employee.service", histogram = true)
+    public static class Lookup {
+
+        public String email(long id) {
+            return BenchmarkApplication.email(id);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.moaydogdu.springboottesting.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Application start against an existing, seeded schema, as on every deploy or restart.
+// schema=update is Hibernate diffing the mappings against the database (ddl-auto=update,
+// the old setup); validate and none run Flyway, which finds nothing pending, with Hibernate
+// checking the schema or trusting it. Each schema gets its own H2 database, created by the
+// first start in setup, so only H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"update", "validate", "none"})
+    private String schema;
+
+    @Param({"10000"})
+    private int rows;
+
+    private Map<String, Object> properties;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boolean flyway = !"update".equals(schema);
+        properties = Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:startup-" + schema + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.flyway.enabled", flyway,
+                "spring.jpa.hibernate.ddl-auto", schema
+        );
+        ConfigurableApplicationContext context = BenchmarkApplication.start(BenchmarkApplication.H2, properties);
+        BenchmarkApplication.seed(context, rows);
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        ConfigurableApplicationContext context = BenchmarkApplication.start(BenchmarkApplication.H2, properties);
+        context.close();
+        return context;
+    }
+}
@@ -0,0 +1,59 @@
+package com.moaydogdu.springboottesting.config;
+
+import com.moaydogdu.springboottesting.repository.EmployeeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Map;
+
+// A small pool of its own, on the primary database, for the id blocks EmployeeIdGenerator
+// reserves, so inserts never wait on the application pool for a second connection.
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+public class EmployeeIdGeneratorConfig {
+
+    @Bean
+    public EmployeeIdGeneratorPool employeeIdGeneratorPool(
+            DataSourceProperties dataSourceProperties,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        EmployeeProperties.IdGenerator idGenerator = employeeProperties.getIdGenerator();
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("employee-id-pool");
+        dataSource.setMaximumPoolSize(idGenerator.getPoolSize());
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(idGenerator.getConnectionTimeout().toMillis());
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new EmployeeIdGeneratorPool(dataSource);
+    }
+
+    // handed to Hibernate as a setting rather than exposed as a DataSource bean,
+    // which would switch off the auto-configured application pool
+    public static class EmployeeIdGeneratorPool implements HibernatePropertiesCustomizer, AutoCloseable {
+
+        private HikariDataSource dataSource;
+
+        EmployeeIdGeneratorPool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public void customize(Map<String, Object> hibernateProperties) {
+            hibernateProperties.put(EmployeeIdGenerator.DATA_SOURCE, dataSource);
+        }
+
+        @Override
+        public void close() {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.moaydogdu.springboottesting.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// Hand-written serializers for the read responses: field names are pre-encoded once and
+// values are written straight from the accessors, instead of Jackson's bean introspection
+// (and, for interface projections, reflective calls through the Spring Data proxy).
+// The output is the same JSON the default serializers produce.
+@JsonComponent
+public class EmployeeJsonComponent {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    public static class EmployeeViewSerializer extends StdSerializer<EmployeeView> {
+
+        public EmployeeViewSerializer() {
+            super(EmployeeView.class);
+        }
+
+        @Override
+        public void serialize(
+                EmployeeView employee,
+                JsonGenerator generator,
+                SerializerProvider provider
+        ) throws IOException {
+            generator.writeStartObject(employee);
+            generator.writeFieldName(ID);
+            generator.writeNumber(employee.id());
+            writeString(generator, FIRST_NAME, employee.firstName());
+            writeString(generator, LAST_NAME, employee.lastName());
+            writeString(generator, EMAIL, employee.email());
+            generator.writeEndObject();
+        }
+    }
+
+    public static class EmployeeNameViewSerializer extends StdSerializer<EmployeeNameView> {
+
+        public EmployeeNameViewSerializer() {
+            super(EmployeeNameView.class);
+        }
+
+        @Override
+        public void serialize(
+                EmployeeNameView employee,
+                JsonGenerator generator,
+                SerializerProvider provider
+        ) throws IOException {
+            generator.writeStartObject(employee);
+            generator.writeFieldName(ID);
+            generator.writeNumber(employee.getId());
+            writeString(generator, FIRST_NAME, employee.getFirstName());
+            writeString(generator, LAST_NAME, employee.getLastName());
+            generator.writeEndObject();
+        }
+    }
+
+    // ISO-8601 updatedAt, so the value can be passed back as "since" unchanged
+    public static class EmployeeExportRowSerializer extends StdSerializer<EmployeeExportRow> {
+
+        public EmployeeExportRowSerializer() {
+            super(EmployeeExportRow.class);
+        }
+
+        @Override
+        public void serialize(
+                EmployeeExportRow row,
+                JsonGenerator generator,
+                SerializerProvider provider
+        ) throws IOException {
+            generator.writeStartObject(row);
+            generator.writeFieldName(ID);
+            generator.writeNumber(row.id());
+            writeString(generator, FIRST_NAME, row.firstName());
+            writeString(generator, LAST_NAME, row.lastName());
+            writeString(generator, EMAIL, row.email());
+            writeString(generator, UPDATED_AT, row.updatedAt() == null ? null : row.updatedAt().toString());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeString(
+            JsonGenerator generator,
+            SerializableString name,
+            String value
+    ) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.moaydogdu.springboottesting.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee")
+public class EmployeeProperties {
+
+    private final Batch batch = new Batch();
+
+    private final Cache cache = new Cache();
+
+    private final Changes changes = new Changes();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final Export export = new Export();
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    private final Ingest ingest = new Ingest();
+
+    private final Lookup lookup = new Lookup();
+
+    private final Query query = new Query();
+
+    private final Search search = new Search();
+
+    private final Threads threads = new Threads();
+
+    private final Replicas replicas = new Replicas();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        // rows per duplicate-email query, per JDBC insert batch and per IN list
+        private int chunkSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        private long maximumSize = 10_000;
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+
+        // how often EmployeeChangePublisher reads new outbox rows, and how many at a time
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        private int batchSize = 500;
+
+        // most recent changes kept in memory; older ones are read from the table
+        private int bufferSize = 10_000;
+
+        // a missing sequence is waited for this long (an uncommitted transaction) before the
+        // changes behind it are published
+        private Duration gapTimeout = Duration.ofSeconds(10);
+
+        // a skipped sequence is looked up again for this long; a change committing within it is
+        // moved to the end of the feed, only one committing even later is lost. Longer than any
+        // transaction writing the outbox runs
+        private Duration lateCommitTimeout = Duration.ofHours(1);
+
+        // how long GET /api/employees/changes waits when there is nothing new; below the
+        // servlet container's async timeout
+        private Duration longPollTimeout = Duration.ofSeconds(25);
+
+        // outbox rows older than this are deleted
+        private Duration retention = Duration.ofDays(7);
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+
+        // concurrent reads of the same id or email share one query, see SingleFlight. Only
+        // without employee.cache: the cache's loads by id are already shared, and repeated
+        // email lookups are answered by the natural-id cache
+        private boolean enabled = true;
+
+        // callers waiting on one query; the ones beyond that query on their own
+        private int maxWaiters = 1000;
+
+        // a waiter whose query runs longer queries on its own; the connection timeout, so a
+        // query stuck on the pool or the database holds up no one but its leader
+        private Duration maxWait = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+
+        // rows per cursor fetch; the most the export holds in memory at once
+        private int fetchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class IdGenerator {
+
+        // connections EmployeeIdGenerator reserves id blocks on, one block per 50 inserts
+        private int poolSize = 2;
+
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Ingest {
+
+        // POST /api/employees answers 202 and the row is written behind, see AsyncEmployeeIngestService
+        private boolean enabled = false;
+
+        // accepted but unwritten requests; beyond that POST answers 429
+        private int queueCapacity = 10_000;
+
+        // rows per saveEmployees call of the writer
+        private int batchSize = 500;
+
+        // how long shutdown waits for the queue to empty
+        private Duration drainTimeout = Duration.ofSeconds(30);
+
+        // how long and how many results GET /api/employees/ingest/{trackingId} can report
+        private Duration statusTimeToLive = Duration.ofHours(1);
+
+        private long statusMaximumSize = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Lookup {
+
+        // ids per GET /api/employees?ids= or POST /api/employees/lookup
+        private int maxIds = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Query {
+
+        // GET /api/employees with filters, sort or page, see EmployeeQueryPlanner
+        private int defaultPageSize = 20;
+
+        private int maxPageSize = 1000;
+
+        // deeper pages answer 400; the keyset pages (after/limit) have no such limit
+        private long maxOffset = 10_000;
+
+        // widest id range an unindexed filter (e.g. emailDomain) may run over, and the
+        // largest total=true counts
+        private long maxScanRows = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        // GET /api/employees/search?q= from EmployeeSearchIndexer; off, it answers 404
+        // and the index is neither built nor kept in memory
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Threads {
+
+        // Java 21+: serve requests and async work on virtual threads
+        private boolean virtual = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Replicas {
+
+        // read-only transactions go to the replicas, see ReplicaRoutingConfig
+        private boolean enabled = false;
+
+        private List<String> urls = new ArrayList<>();
+
+        // default to spring.datasource.username/password
+        private String username;
+
+        private String password;
+
+        // after a write, that client's reads stay on the primary for this long (a cookie)
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        // a replica that failed to hand out a connection is skipped for this long
+        private Duration retryInterval = Duration.ofSeconds(10);
+
+        // short, so a dead replica falls back to the primary quickly
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
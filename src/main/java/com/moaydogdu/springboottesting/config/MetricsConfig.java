@@ -0,0 +1,17 @@
+package com.moaydogdu.springboottesting.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Enables @Timed on beans (employee.service.*), see OutcomeTimedAspect. Controller timings come
+// from the built-in http.server.requests observation and repository timings from
+// spring.data.repository.invocations; their histograms are switched on in application.properties.
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public OutcomeTimedAspect outcomeTimedAspect(MeterRegistry meterRegistry) {
+        return new OutcomeTimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.moaydogdu.springboottesting.config;
+
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+// @Timed on classes, like Micrometer's TimedAspect, with an outcome tag: SUCCESS, NOT_FOUND
+// (an empty Optional), CLIENT_ERROR (input the controllers answer with a 4xx) or SERVER_ERROR.
+// A call made while the same timer is already running on the thread is not recorded again,
+// so a decorator and its delegate (CachingEmployeeService, EmployeeServiceImpl) both carry
+// @Timed and the outermost one, the bean the controllers call, is what gets timed.
+@Aspect
+public class OutcomeTimedAspect {
+
+    static final String OUTCOME_TAG = "outcome";
+
+    private MeterRegistry meterRegistry;
+
+    private ThreadLocal<Set<String>> runningTimers = ThreadLocal.withInitial(HashSet::new);
+
+    public OutcomeTimedAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(timed) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint, Timed timed) throws Throwable {
+        Set<String> running = runningTimers.get();
+        if (!running.add(timed.value())) {
+            return joinPoint.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SERVER_ERROR";
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = result instanceof Optional<?> optional && optional.isEmpty() ? "NOT_FOUND" : "SUCCESS";
+            return result;
+        } catch (Throwable e) {
+            outcome = isClientError(e) ? "CLIENT_ERROR" : "SERVER_ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            running.remove(timed.value());
+            sample.stop(Timer.builder(timed.value())
+                    .description(timed.description().isEmpty() ? null : timed.description())
+                    .tags(timed.extraTags())
+                    .tag("class", joinPoint.getSignature().getDeclaringTypeName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag(OUTCOME_TAG, outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram(timed.histogram())
+                    .register(meterRegistry));
+        }
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof IllegalArgumentException
+                || e instanceof ResourceNotFoundException
+                || e instanceof OptimisticLockingFailureException;
+    }
+}
@@ -0,0 +1,94 @@
+package com.moaydogdu.springboottesting.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Binds the requesting client to ReplicaRoutingDataSource. A commit sets COOKIE_NAME to the
+// end of the read-your-writes window, and while the client sends it back its reads go to the
+// primary. A forged value only moves that client's own reads and never beyond one window.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "employee-primary-reads-until";
+
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public ReadYourWritesFilter(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long windowMillis = replicaRoutingDataSource.getReadYourWritesWindow().toMillis();
+        long latest = System.currentTimeMillis() + windowMillis;
+        replicaRoutingDataSource.bindClient(new CookieClient(
+                response,
+                Math.min(primaryReadsUntil(request), latest),
+                windowMillis
+        ));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            replicaRoutingDataSource.unbindClient();
+        }
+    }
+
+    private static long primaryReadsUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static class CookieClient implements ReplicaRoutingDataSource.Client {
+
+        private HttpServletResponse response;
+
+        private long primaryReadsUntil;
+
+        private long windowMillis;
+
+        CookieClient(HttpServletResponse response, long primaryReadsUntil, long windowMillis) {
+            this.response = response;
+            this.primaryReadsUntil = primaryReadsUntil;
+            this.windowMillis = windowMillis;
+        }
+
+        @Override
+        public long primaryReadsUntil() {
+            return primaryReadsUntil;
+        }
+
+        // commits happen before the controller writes the body, so the header still fits
+        @Override
+        public void pinReadsToPrimary(long until) {
+            primaryReadsUntil = Math.max(primaryReadsUntil, until);
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(primaryReadsUntil));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        }
+    }
+}
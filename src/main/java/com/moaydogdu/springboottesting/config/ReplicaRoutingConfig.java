@@ -0,0 +1,102 @@
+package com.moaydogdu.springboottesting.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured DataSource with primary + replica pools. Read-only
+// transactions (Spring Data reads, @Transactional(readOnly = true)) go to a replica,
+// everything else, and a client's reads right after its own write, to the primary.
+@Configuration(proxyBeanMethods = false)
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.replicas", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // built like the auto-configured pool, so spring.datasource.hikari.* still applies
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        EmployeeProperties.Replicas replicas = employeeProperties.getReplicas();
+        if (replicas.getUrls().isEmpty()) {
+            throw new IllegalStateException("employee.replicas.enabled needs employee.replicas.urls");
+        }
+
+        List<HikariDataSource> replicaDataSources = new ArrayList<>(replicas.getUrls().size());
+        for (int i = 0; i < replicas.getUrls().size(); i++) {
+            replicaDataSources.add(replicaDataSource(
+                    primaryDataSource,
+                    replicas,
+                    replicas.getUrls().get(i),
+                    i + 1,
+                    meterRegistry
+            ));
+        }
+
+        return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicaDataSources,
+                replicas.getReadYourWritesWindow(),
+                replicas.getRetryInterval(),
+                meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReadYourWritesFilter(replicaRoutingDataSource);
+    }
+
+    // same pool and driver settings as the primary; a replica that is down at startup
+    // does not fail the application, it is skipped until it answers
+    private static HikariDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            EmployeeProperties.Replicas replicas,
+            String url,
+            int number,
+            MeterRegistry meterRegistry
+    ) {
+        HikariConfig config = new HikariConfig();
+        primaryDataSource.copyStateTo(config);
+        config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + number);
+        config.setJdbcUrl(url);
+        if (replicas.getUsername() != null) {
+            config.setUsername(replicas.getUsername());
+            config.setPassword(replicas.getPassword());
+        }
+        config.setConnectionTimeout(replicas.getConnectionTimeout().toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
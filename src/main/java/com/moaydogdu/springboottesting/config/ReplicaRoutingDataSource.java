@@ -0,0 +1,174 @@
+package com.moaydogdu.springboottesting.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out replica connections (round robin) inside read-only transactions and primary
+// connections everywhere else. Has to sit behind a LazyConnectionDataSourceProxy: the
+// transaction managers ask for the connection before the read-only flag is bound.
+// Read-your-writes is per client: after a commit the bound Client (ReadYourWritesFilter,
+// a cookie) keeps that client's reads on the primary, nobody else's.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private DataSource primary;
+
+    private List<Replica> replicas;
+
+    private Duration readYourWritesWindow;
+
+    private long retryIntervalNanos;
+
+    private AtomicInteger nextReplica = new AtomicInteger();
+
+    // the client whose request this thread serves; none for scheduled and async work,
+    // which then neither pins reads to the primary nor has them pinned
+    private ThreadLocal<Client> currentClient = new ThreadLocal<>();
+
+    private Counter primaryRoutes;
+
+    private Counter replicaRoutes;
+
+    private Counter fallbackRoutes;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicas,
+            Duration readYourWritesWindow,
+            Duration retryInterval,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (DataSource replica : replicas) {
+            this.replicas.add(new Replica(replica));
+        }
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.retryIntervalNanos = retryInterval.toNanos();
+
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.fallbackRoutes = routeCounter(meterRegistry, "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            recordWrite();
+            return primary.getConnection();
+        }
+
+        Client client = currentClient.get();
+        if (client != null && System.currentTimeMillis() < client.primaryReadsUntil()) {
+            primaryRoutes.increment();
+            return primary.getConnection();
+        }
+
+        long now = System.nanoTime();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (now - replica.downUntil < 0) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = now + retryIntervalNanos;
+            }
+        }
+
+        fallbackRoutes.increment();
+        return primary.getConnection();
+    }
+
+    // explicit credentials are the primary's; the replicas may use other ones
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryRoutes.increment();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWrite();
+        }
+        return primary.getConnection(username, password);
+    }
+
+    public void bindClient(Client client) {
+        currentClient.set(client);
+    }
+
+    public void unbindClient() {
+        currentClient.remove();
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    // any read-write transaction may have written, so the window starts when it commits.
+    // Connections outside a transaction (LazyConnectionDataSourceProxy probing the
+    // defaults, health checks, auto-commit JdbcTemplate calls at startup) do not count
+    private void recordWrite() {
+        Client client = currentClient.get();
+        if (client != null
+                && !readYourWritesWindow.isZero()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    client.pinReadsToPrimary(System.currentTimeMillis() + readYourWritesWindow.toMillis());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("employee.datasource.routes")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    public interface Client {
+
+        // reads go to the primary until then; epoch millis, as it outlives the request
+        long primaryReadsUntil();
+
+        void pinReadsToPrimary(long until);
+    }
+
+    private static class Replica {
+
+        private DataSource dataSource;
+
+        // skipped until then after a failed getConnection; System.nanoTime() based
+        private volatile long downUntil;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+            this.downUntil = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.moaydogdu.springboottesting.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// VirtualThreadsConfig lives in src/main/java21 and is only compiled by the virtual-threads
+// Maven profile (mvn -Pvirtual-threads package, on JDK 21). Asking for virtual threads from a
+// build without it stops the startup instead of silently serving on platform threads.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employee.threads", name = "virtual", havingValue = "true")
+@ConditionalOnMissingClass("com.moaydogdu.springboottesting.config.VirtualThreadsConfig")
+public class VirtualThreadsRequirementConfig {
+
+    public VirtualThreadsRequirementConfig() {
+        throw new IllegalStateException(
+                "employee.threads.virtual=true needs a build with the virtual-threads profile "
+                        + "(mvn -Pvirtual-threads package, on JDK 21); this build has no virtual thread executors"
+        );
+    }
+}
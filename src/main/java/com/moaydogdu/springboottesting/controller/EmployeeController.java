@@ -1,69 +1,519 @@
 package com.moaydogdu.springboottesting.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moaydogdu.springboottesting.model.dto.EmployeeDeleteResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeIngestStatus;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.service.EmployeeChangeService;
+import com.moaydogdu.springboottesting.service.EmployeeIngestService;
 import com.moaydogdu.springboottesting.service.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    static final String NEXT_AFTER_HEADER = "X-Next-After";
+
+    static final String NEXT_SINCE_HEADER = "X-Next-Since";
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    static final String CSV_HEADER = "id,firstName,lastName,email,updatedAt\r\n";
+
     private EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private ObjectMapper objectMapper;
+
+    private EmployeeChangeService employeeChangeService;
+
+    // null unless employee.ingest.enabled
+    private EmployeeIngestService employeeIngestService;
+
+    public EmployeeController(
+            EmployeeService employeeService,
+            ObjectMapper objectMapper,
+            EmployeeChangeService employeeChangeService,
+            ObjectProvider<EmployeeIngestService> employeeIngestService
+    ) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.employeeChangeService = employeeChangeService;
+        this.employeeIngestService = employeeIngestService.getIfAvailable();
     }
 
+    // 201 with the saved employee, or with employee.ingest.enabled 202 with a tracking id
+    // (429 while the queue is full); duplicates then show up in the ingest status
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(
+    public ResponseEntity<?> createEmployee(
             @RequestBody Employee employee
     ) {
-        return employeeService.saveEmployee(employee);
+        if (employeeIngestService == null) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(employeeService.saveEmployee(employee));
+        }
+
+        if (!isComplete(employee)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return employeeIngestService.submit(employee)
+                .<ResponseEntity<?>>map(status -> ResponseEntity.accepted()
+                        .location(URI.create("/api/employees/ingest/" + status.trackingId()))
+                        .body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @GetMapping("ingest/{trackingId}")
+    public ResponseEntity<EmployeeIngestStatus> getIngestStatus(
+            @PathVariable("trackingId") String trackingId
+    ) {
+        if (employeeIngestService == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return employeeIngestService.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // accepts a JSON array or newline-delimited JSON and reads it row by row
+    @PostMapping(
+            path = "batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public List<EmployeeImportResult> createEmployees(
+            InputStream body
+    ) throws IOException {
+        try (MappingIterator<Employee> employees = objectMapper
+                .readerFor(Employee.class)
+                .readValues(body)) {
+            return employeeService.saveEmployees(employees);
+        }
     }
 
+    // projected rows, no managed entities; written by EmployeeJsonComponent. Without
+    // parameters a keyset page of employee.query.default-page-size rows: pass the
+    // X-Next-After value back as "after" to get the next page.
+    // With filters, sort or page parameters one EmployeePage instead: sort lists fields,
+    // descending with a leading "-" (sort=lastName,-id); total=true adds a count query,
+    // answered 400 beyond employee.query.max-scan-rows matches.
+    // Filters and sorts no index serves answer 400, see EmployeeQueryPlanner
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<?> getAllEmployees(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "firstName", required = false) String firstName,
+            @RequestParam(name = "lastName", required = false) String lastName,
+            @RequestParam(name = "emailDomain", required = false) String emailDomain,
+            @RequestParam(name = "minId", required = false) Long minId,
+            @RequestParam(name = "maxId", required = false) Long maxId,
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @RequestParam(name = "page", required = false) Integer page,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "total", defaultValue = "false") boolean total
+    ) {
+        if (firstName == null && lastName == null && emailDomain == null && minId == null && maxId == null
+                && sort == null && page == null && size == null && !total) {
+            return keysetPage(employeeService.getEmployeeViewsAfter(after, 0), EmployeeView::id);
+        }
+
+        try {
+            return ResponseEntity.ok(employeeService.findEmployees(new EmployeeQuery(
+                    firstName,
+                    lastName,
+                    emailDomain,
+                    minId,
+                    maxId,
+                    sort == null ? Sort.unsorted() : Sort.by(sort.stream().map(EmployeeController::sortOrder).toList()),
+                    page == null ? 0 : page,
+                    size == null ? 0 : size,
+                    total
+            )));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // only id and names are selected
+    @GetMapping(params = "view=name")
+    public List<EmployeeNameView> getAllEmployeeNames() {
+        return employeeService.getAllEmployeeNames();
+    }
+
+    // employees in the order of the ids, unknown ids listed as missing; more than
+    // employee.lookup.max-ids answers 400
+    @GetMapping(params = "ids")
+    public ResponseEntity<EmployeeLookupResult> getEmployeesByIds(
+            @RequestParam("ids") List<Long> ids
+    ) {
+        return lookupEmployees(ids);
+    }
+
+    // same lookup for id lists too long for a query string: a JSON array of ids
+    @PostMapping(path = "lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EmployeeLookupResult> lookupEmployeesByIds(
+            @RequestBody List<Long> ids
+    ) {
+        return lookupEmployees(ids);
+    }
+
+    // keyset pagination: pass the X-Next-After value back as "after" to get the next page
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Employee>> getEmployeesPage(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam("limit") int limit
+    ) {
+        return keysetPage(employeeService.getEmployeesAfter(after, limit), Employee::getId);
+    }
+
+    // writes the JSON array element by element while rows come off the cursor
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                employeeService.streamAllEmployees(employee -> writeEmployee(generator, employee));
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // incremental sync: NDJSON (default) or CSV straight off a cursor, one fetch-size chunk
+    // in memory at a time. Pass the last row's updatedAt and id back as since and after
+    // to resume; without since the export walks the ids
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(name = "after", defaultValue = "0") long after
+    ) {
+        if (format.equalsIgnoreCase("ndjson")) {
+            StreamingResponseBody body = outputStream -> {
+                try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                    // rows end with a newline instead of the default space between root values
+                    generator.setRootValueSeparator(null);
+                    employeeService.exportEmployees(since, after, row -> writeNdjsonRow(generator, row));
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(body);
+        }
+
+        if (format.equalsIgnoreCase("csv")) {
+            StreamingResponseBody body = outputStream -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                writer.write(CSV_HEADER);
+                employeeService.exportEmployees(since, after, row -> writeCsvRow(writer, row));
+                writer.flush();
+            };
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"")
+                    .body(body);
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+
+    @GetMapping(path = "search", params = {"firstName", "lastName"})
+    public List<Employee> searchEmployeesByName(
+            @RequestParam("firstName") String firstName,
+            @RequestParam("lastName") String lastName,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        return employeeService.searchEmployeesByName(firstName, lastName, limit);
+    }
+
+    // same lookup, but only id and names are selected
+    @GetMapping(path = "search", params = {"firstName", "lastName", "view=name"})
+    public List<EmployeeNameView> searchEmployeeNamesByName(
+            @RequestParam("firstName") String firstName,
+            @RequestParam("lastName") String lastName,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        return employeeService.searchEmployeeNamesByName(firstName, lastName, limit);
+    }
+
+    // long poll over the change feed: answers as soon as there are changes after since
+    // (oldest first), or empty after employee.changes.long-poll-timeout. X-Next-Since is
+    // the since of the next poll
+    @GetMapping("changes")
+    public CompletableFuture<ResponseEntity<List<EmployeeChange>>> getChanges(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        return employeeChangeService.getChanges(since, limit)
+                .thenApply(changes -> ResponseEntity.ok()
+                        .header(
+                                NEXT_SINCE_HEADER,
+                                String.valueOf(changes.isEmpty() ? since : changes.get(changes.size() - 1).getId())
+                        )
+                        .body(changes));
+    }
+
+    // type-ahead over names and emails: prefix matches, then names one typo away;
+    // 404 unless employee.search.enabled
+    @GetMapping(path = "search", params = "q")
+    public ResponseEntity<List<EmployeeView>> searchEmployees(
+            @RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit
+    ) {
+        return employeeService.searchEmployees(query, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // a conditional GET is answered from the version alone, the entity is neither loaded nor serialized
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(
-            @PathVariable("id") long employeeId
+    public ResponseEntity<EmployeeView> getEmployeeById(
+            @PathVariable("id") long employeeId,
+            WebRequest webRequest
     ) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (webRequest.checkNotModified(eTag(version.get()))) {
+                return null;
+            }
+        }
+
         return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(eTag(employee.getVersion()))
+                        .body(EmployeeView.of(employee)))
                 .orElseGet(()->ResponseEntity.notFound().build());
     }
 
+    // a complete body is written with one UPDATE; partial bodies keep the read-modify-write path
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(
             @PathVariable("id") long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Employee employee
     ) {
+        Long expectedVersion = expectedVersion(ifMatch);
+
+        if (isComplete(employee)) {
+            return employeeService.updateEmployeeFields(employeeId, expectedVersion, employee)
+                    .map(updatedEmployee -> ResponseEntity.ok()
+                            .eTag(eTag(updatedEmployee.getVersion()))
+                            .body(updatedEmployee))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+
         return employeeService.getEmployeeById(employeeId)
                 .map(savedEmployee -> {
+                    if (expectedVersion != null && !expectedVersion.equals(savedEmployee.getVersion())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<Employee>build();
+                    }
                     savedEmployee.setFirstName(employee.getFirstName());
                     savedEmployee.setLastName(employee.getLastName());
                     savedEmployee.setEmail(employee.getEmail());
 
                     Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+                    return ResponseEntity.ok()
+                            .eTag(eTag(updatedEmployee.getVersion()))
+                            .body(updatedEmployee);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // only the fields present in the body are written, in one UPDATE; a body without any
+    // of them would change nothing and is refused
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(
+            @PathVariable("id") long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Employee changes
+    ) {
+        if (changes.getFirstName() == null && changes.getLastName() == null && changes.getEmail() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long expectedVersion = expectedVersion(ifMatch);
+
+        return employeeService.updateEmployeeFields(employeeId, expectedVersion, changes)
+                .map(updatedEmployee -> ResponseEntity.noContent()
+                        .eTag(eTag(updatedEmployee.getVersion()))
+                        .<Void>build())
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // a stale If-Match, or a concurrent writer on the unconditional paths
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployee(
             @PathVariable("id") long employeeId
     ) {
-        employeeService.deleteEmployeeById(employeeId);
+        if (employeeService.deleteEmployeeById(employeeId) == 0) {
+            return ResponseEntity.notFound().build();
+        }
 
         return ResponseEntity.ok("Employee deleted successfuly");
     }
 
+    // offboarding: a JSON array of ids, deleted in chunks inside one transaction
+    @DeleteMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EmployeeDeleteResult> deleteEmployees(
+            @RequestBody List<Long> employeeIds
+    ) {
+        return ResponseEntity.ok(new EmployeeDeleteResult(
+                employeeService.deleteEmployeesByIds(employeeIds)
+        ));
+    }
+
+    @DeleteMapping(params = {"firstName", "lastName"})
+    public ResponseEntity<EmployeeDeleteResult> deleteEmployeesByName(
+            @RequestParam("firstName") String firstName,
+            @RequestParam("lastName") String lastName
+    ) {
+        return ResponseEntity.ok(new EmployeeDeleteResult(
+                employeeService.deleteEmployeesByName(firstName, lastName)
+        ));
+    }
+
+    private static <T> ResponseEntity<List<T>> keysetPage(List<T> rows, ToLongFunction<T> id) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!rows.isEmpty()) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(id.applyAsLong(rows.get(rows.size() - 1))));
+        }
+        return response.body(rows);
+    }
+
+    private ResponseEntity<EmployeeLookupResult> lookupEmployees(List<Long> ids) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static Sort.Order sortOrder(String field) {
+        return field.startsWith("-") ? Sort.Order.desc(field.substring(1)) : Sort.Order.asc(field);
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    // null means unconditional; "*" only asks for an existing row, which the 404 already covers.
+    // An unparsable tag matches no stored version, so the write is refused with 412
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ifMatch.trim().replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static boolean isComplete(Employee employee) {
+        return employee.getFirstName() != null
+                && employee.getLastName() != null
+                && employee.getEmail() != null;
+    }
+
+    private static void writeNdjsonRow(
+            JsonGenerator generator,
+            EmployeeExportRow row
+    ) {
+        try {
+            generator.writeObject(row);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(
+            Writer writer,
+            EmployeeExportRow row
+    ) {
+        try {
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(csvField(row.firstName()));
+            writer.write(',');
+            writer.write(csvField(row.lastName()));
+            writer.write(',');
+            writer.write(csvField(row.email()));
+            writer.write(',');
+            writer.write(row.updatedAt() == null ? "" : row.updatedAt().toString());
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, double the quotes
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeEmployee(
+            JsonGenerator generator,
+            Employee employee
+    ) {
+        try {
+            generator.writeObject(employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -0,0 +1,111 @@
+package com.moaydogdu.springboottesting.controller;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same contract as EmployeeController, served by WebFlux when the "reactive" profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+    private ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(
+            @RequestBody Employee employee
+    ) {
+        return employeeService.saveEmployee(employee);
+    }
+
+    // JSON arrays and NDJSON are both written element by element as rows arrive
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(
+            @PathVariable("id") long employeeId
+    ) {
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(eTag(employee.getVersion()))
+                        .body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // the UPDATE is conditioned on the version that was read, so a writer between the read
+    // and the write fails it the same way a stale If-Match does
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(
+            @PathVariable("id") long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Employee employee
+    ) {
+        Long expectedVersion = expectedVersion(ifMatch);
+
+        return employeeService.getEmployeeById(employeeId)
+                .flatMap(savedEmployee -> {
+                    if (expectedVersion != null && !expectedVersion.equals(savedEmployee.getVersion())) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).<Employee>build());
+                    }
+                    savedEmployee.setFirstName(employee.getFirstName());
+                    savedEmployee.setLastName(employee.getLastName());
+                    savedEmployee.setEmail(employee.getEmail());
+
+                    return employeeService.updateEmployee(savedEmployee)
+                            .map(updatedEmployee -> ResponseEntity.ok()
+                                    .eTag(eTag(updatedEmployee.getVersion()))
+                                    .body(updatedEmployee));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // a stale If-Match, or a concurrent writer between the read and the UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleOptimisticLockingFailure() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(
+            @PathVariable("id") long employeeId
+    ) {
+        return employeeService.deleteEmployeeById(employeeId)
+                .map(deletedRows -> deletedRows == 0
+                        ? ResponseEntity.notFound().<String>build()
+                        : ResponseEntity.ok("Employee deleted successfuly"));
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    // same rules as EmployeeController: null is unconditional, "*" is covered by the 404 and
+    // an unparsable tag matches no stored version
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ifMatch.trim().replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+public record EmployeeDeleteResult(
+        int deleted
+) {
+}
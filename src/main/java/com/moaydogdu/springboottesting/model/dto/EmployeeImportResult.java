@@ -0,0 +1,40 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+public record EmployeeImportResult(
+        int index,
+        String email,
+        Status status,
+        Long id,
+        String message
+) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static EmployeeImportResult created(int index, String email, long id) {
+        return new EmployeeImportResult(index, email, Status.CREATED, id, null);
+    }
+
+    public static EmployeeImportResult duplicate(int index, String email) {
+        return new EmployeeImportResult(
+                index,
+                email,
+                Status.DUPLICATE,
+                null,
+                "Employee already exists with given email: " + email
+        );
+    }
+
+    public static EmployeeImportResult invalid(int index, String email) {
+        return new EmployeeImportResult(
+                index,
+                email,
+                Status.INVALID,
+                null,
+                "firstName, lastName and email are required"
+        );
+    }
+}
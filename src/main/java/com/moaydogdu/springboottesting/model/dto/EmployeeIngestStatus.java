@@ -0,0 +1,35 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+// where an asynchronously accepted POST /api/employees is, see GET /api/employees/ingest/{trackingId}
+public record EmployeeIngestStatus(
+        String trackingId,
+        Status status,
+        Long id,
+        String message
+) {
+
+    public enum Status {
+        QUEUED,
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static EmployeeIngestStatus queued(String trackingId) {
+        return new EmployeeIngestStatus(trackingId, Status.QUEUED, null, null);
+    }
+
+    public static EmployeeIngestStatus of(String trackingId, EmployeeImportResult result) {
+        return new EmployeeIngestStatus(
+                trackingId,
+                Status.valueOf(result.status().name()),
+                result.id(),
+                result.message()
+        );
+    }
+
+    public static EmployeeIngestStatus failed(String trackingId, String message) {
+        return new EmployeeIngestStatus(trackingId, Status.FAILED, null, message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+
+import java.util.List;
+
+// employees in the order their ids were asked for (duplicates once), and the ids that do not exist
+public record EmployeeLookupResult(
+        List<EmployeeView> employees,
+        List<Long> missingIds
+) {
+}
@@ -0,0 +1,17 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+
+import java.util.List;
+
+// one page of GET /api/employees; total is only counted when asked for (total=true), index
+// names the index the query was planned on
+public record EmployeePage(
+        List<EmployeeView> employees,
+        int page,
+        int size,
+        boolean hasNext,
+        Long total,
+        String index
+) {
+}
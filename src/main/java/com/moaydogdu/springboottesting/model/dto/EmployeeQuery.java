@@ -0,0 +1,21 @@
+package com.moaydogdu.springboottesting.model.dto;
+
+import org.springframework.data.domain.Sort;
+
+// GET /api/employees filters, sort and page; null filters match everything
+public record EmployeeQuery(
+        String firstName,
+        String lastName,
+        String emailDomain,
+        Long minId,
+        Long maxId,
+        Sort sort,
+        int page,
+        int size,
+        boolean withTotal
+) {
+
+    public boolean hasFilter() {
+        return firstName != null || lastName != null || emailDomain != null || minId != null || maxId != null;
+    }
+}
@@ -1,20 +1,75 @@
 package com.moaydogdu.springboottesting.model.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.moaydogdu.springboottesting.repository.EmployeeIdGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name="employees")
+@Table(
+        name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_employees_name", columnList = "first_name, last_name"),
+                @Index(name = "idx_employees_last_name", columnList = "last_name"),
+                @Index(name = "idx_employees_updated_at", columnList = "updated_at, id")
+        }
+)
+// second-level cached by id and by email (region sizes in application.conf); writes that
+// bypass Hibernate evict through EmployeeRepositoryImpl
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@NaturalIdCache(region = Employee.NATURAL_ID_CACHE_REGION)
+// Spring Data R2DBC mapping for the reactive profile; columns follow its snake_case naming
+@org.springframework.data.relational.core.mapping.Table("employees")
 public class Employee {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
+    public static final String ID_GENERATOR_TABLE = "id_generator";
+
+    public static final String ID_GENERATOR_SEGMENT = "employees";
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    public static final String CACHE_REGION = "employees";
+
+    public static final String NATURAL_ID_CACHE_REGION = "employees-natural-id";
+
+    // ids come from a table generator in blocks of ID_ALLOCATION_SIZE (pooled-lo), so Hibernate
+    // knows the key before the INSERT and can batch; IDENTITY forced one statement per row.
+    // EmployeeIdGenerator reserves the blocks on a pool of its own
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(generator = "employee_id")
+    @GenericGenerator(
+            name = "employee_id",
+            type = EmployeeIdGenerator.class,
+            parameters = {
+                    @Parameter(name = EmployeeIdGenerator.TABLE_PARAM, value = ID_GENERATOR_TABLE),
+                    @Parameter(name = EmployeeIdGenerator.SEGMENT_COLUMN_PARAM, value = "name"),
+                    @Parameter(name = EmployeeIdGenerator.VALUE_COLUMN_PARAM, value = "next_val"),
+                    @Parameter(name = EmployeeIdGenerator.SEGMENT_VALUE_PARAM, value = ID_GENERATOR_SEGMENT),
+                    @Parameter(name = EmployeeIdGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+                    @Parameter(name = EmployeeIdGenerator.OPT_PARAM, value = "pooled-lo")
+            }
+    )
     private long id;
 
     @Column(name = "first_name", nullable = false)
@@ -23,6 +78,24 @@ public class Employee {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
+    // mutable: PUT and PATCH may change it
+    @NaturalId(mutable = true)
     @Column(nullable = false)
     private String email;
+
+    // optimistic lock, exposed to clients only as the ETag; the default covers rows
+    // written by plain JDBC inserts. ReactiveEmployeeRepository maintains it by hand,
+    // Spring Data JPA refuses the Spring Data @Version on an entity
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // last insert or update (UTC), the watermark for incremental exports; rows written
+    // before the column existed stay NULL until their next update
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
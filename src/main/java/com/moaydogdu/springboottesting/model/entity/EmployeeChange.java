@@ -0,0 +1,72 @@
+package com.moaydogdu.springboottesting.model.entity;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "employee_changes",
+        indexes = @Index(name = "idx_employee_changes_changed_at", columnList = "changed_at")
+)
+// Outbox row, written by EmployeeChangeRepository in the transaction of the change itself.
+// The AUTO_INCREMENT id is the position in the change feed; only single and multi-row
+// INSERT ... VALUES are used, so ids are allocated without the gaps of INSERT ... SELECT.
+// The reactive profile writes it through ReactiveEmployeeChangeRepository
+@org.springframework.data.relational.core.mapping.Table("employee_changes")
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    @Id
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    // the employee after the change; null for DELETED
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    private String email;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public static EmployeeChange of(Type type, EmployeeView employee) {
+        return EmployeeChange.builder()
+                .employeeId(employee.id())
+                .type(type)
+                .firstName(employee.firstName())
+                .lastName(employee.lastName())
+                .email(employee.email())
+                .build();
+    }
+
+    public static EmployeeChange deleted(long employeeId) {
+        return EmployeeChange.builder()
+                .employeeId(employeeId)
+                .type(Type.DELETED)
+                .build();
+    }
+}
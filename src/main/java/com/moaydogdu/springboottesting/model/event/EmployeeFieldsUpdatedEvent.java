@@ -0,0 +1,10 @@
+package com.moaydogdu.springboottesting.model.event;
+
+// a partial update; null fields were not written
+public record EmployeeFieldsUpdatedEvent(
+        long id,
+        String firstName,
+        String lastName,
+        String email
+) {
+}
@@ -0,0 +1,8 @@
+package com.moaydogdu.springboottesting.model.event;
+
+// the DELETE does not return the ids it removed
+public record EmployeesDeletedByNameEvent(
+        String firstName,
+        String lastName
+) {
+}
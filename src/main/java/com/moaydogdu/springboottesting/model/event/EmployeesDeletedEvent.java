@@ -0,0 +1,8 @@
+package com.moaydogdu.springboottesting.model.event;
+
+import java.util.Collection;
+
+public record EmployeesDeletedEvent(
+        Collection<Long> ids
+) {
+}
@@ -0,0 +1,11 @@
+package com.moaydogdu.springboottesting.model.event;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+
+import java.util.List;
+
+// created or fully rewritten employees, published by EmployeeServiceImpl
+public record EmployeesSavedEvent(
+        List<EmployeeView> employees
+) {
+}
@@ -0,0 +1,13 @@
+package com.moaydogdu.springboottesting.model.projection;
+
+import java.time.Instant;
+
+// one row of GET /api/employees/export; updatedAt is the watermark for the next "since"
+public record EmployeeExportRow(
+        long id,
+        String firstName,
+        String lastName,
+        String email,
+        Instant updatedAt
+) {
+}
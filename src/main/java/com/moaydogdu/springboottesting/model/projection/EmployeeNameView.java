@@ -0,0 +1,11 @@
+package com.moaydogdu.springboottesting.model.projection;
+
+// closed projection: Spring Data selects only these columns
+public interface EmployeeNameView {
+
+    long getId();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,23 @@
+package com.moaydogdu.springboottesting.model.projection;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+
+// DTO projection for read responses: Spring Data selects these columns into the record
+// through its constructor, no managed entity and no version column. Written to JSON by
+// EmployeeJsonComponent
+public record EmployeeView(
+        long id,
+        String firstName,
+        String lastName,
+        String email
+) {
+
+    public static EmployeeView of(Employee employee) {
+        return new EmployeeView(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail()
+        );
+    }
+}
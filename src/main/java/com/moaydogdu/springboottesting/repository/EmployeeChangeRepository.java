@@ -0,0 +1,115 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// The employee_changes outbox over plain JDBC: the writes join the caller's transaction
+// (JpaTransactionManager exposes its connection), and none of it runs read-only, so the
+// feed is always read from the primary
+@Repository
+@Profile("!reactive")
+public class EmployeeChangeRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO employee_changes (employee_id, type, first_name, last_name, email, changed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_AFTER_SQL =
+            "SELECT id, employee_id, type, first_name, last_name, email, changed_at FROM employee_changes " +
+            "WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+
+    private static final RowMapper<EmployeeChange> CHANGE_MAPPER = (resultSet, rowNum) -> EmployeeChange.builder()
+            .id(resultSet.getLong(1))
+            .employeeId(resultSet.getLong(2))
+            .type(EmployeeChange.Type.valueOf(resultSet.getString(3)))
+            .firstName(resultSet.getString(4))
+            .lastName(resultSet.getString(5))
+            .email(resultSet.getString(6))
+            .changedAt(EmployeeRepositoryImpl.toInstant(resultSet.getTimestamp(7, EmployeeRepositoryImpl.UTC)))
+            .build();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public EmployeeChangeRepository(
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // one JDBC batch, a multi-row INSERT with rewriteBatchedStatements
+    public void insertChanges(List<EmployeeChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Instant changedAt = Instant.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (statement, change) -> {
+            statement.setLong(1, change.getEmployeeId());
+            statement.setString(2, change.getType().name());
+            statement.setString(3, change.getFirstName());
+            statement.setString(4, change.getLastName());
+            statement.setString(5, change.getEmail());
+            statement.setTimestamp(6, Timestamp.from(changedAt), EmployeeRepositoryImpl.UTC);
+        });
+    }
+
+    // a range scan of the primary key
+    public List<EmployeeChange> findChangesAfter(long afterId, long maxId, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_SQL, CHANGE_MAPPER, afterId, maxId, limit);
+    }
+
+    // primary key lookups of sequences the feed has skipped
+    public List<EmployeeChange> findChangesIn(Collection<Long> ids) {
+        return namedParameterJdbcTemplate.query(
+                "SELECT id, employee_id, type, first_name, last_name, email, changed_at FROM employee_changes " +
+                        "WHERE id IN (:ids) ORDER BY id",
+                Map.of("ids", ids),
+                CHANGE_MAPPER
+        );
+    }
+
+    // gives a change that committed after the feed skipped its sequence a new one, at the end;
+    // false when another instance moved it first
+    @Transactional
+    public boolean moveToEnd(EmployeeChange change) {
+        if (jdbcTemplate.update("DELETE FROM employee_changes WHERE id = ?", change.getId()) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(
+                INSERT_SQL,
+                change.getEmployeeId(),
+                change.getType().name(),
+                change.getFirstName(),
+                change.getLastName(),
+                change.getEmail(),
+                EmployeeRepositoryImpl.utcTimestamp(change.getChangedAt())
+        );
+        return true;
+    }
+
+    public long findLastId() {
+        Long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM employee_changes", Long.class);
+        return lastId == null ? 0 : lastId;
+    }
+
+    // served by idx_employee_changes_changed_at
+    public int deleteChangesBefore(Instant cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM employee_changes WHERE changed_at < ?",
+                EmployeeRepositoryImpl.utcTimestamp(cutoff)
+        );
+    }
+}
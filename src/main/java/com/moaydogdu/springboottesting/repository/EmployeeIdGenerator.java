@@ -0,0 +1,178 @@
+package com.moaydogdu.springboottesting.repository;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.SharedSessionDelegatorBaseImpl;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.jdbc.WorkExecutor;
+import org.hibernate.jdbc.WorkExecutorVisitable;
+import org.hibernate.jpa.spi.JpaCompliance;
+import org.hibernate.resource.transaction.spi.IsolationDelegate;
+import org.hibernate.resource.transaction.spi.SynchronizationRegistry;
+import org.hibernate.resource.transaction.spi.TransactionCoordinator;
+import org.hibernate.resource.transaction.spi.TransactionCoordinatorBuilder;
+import org.hibernate.resource.transaction.spi.TransactionObserver;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+// Hibernate's TableGenerator, reserving its id blocks on a connection of the DataSource set
+// as DATA_SOURCE (see EmployeeIdGeneratorConfig) instead of a second connection from the
+// application pool. With the application pool, inserting transactions that each hold a
+// connection and all need a new block wait for each other until the connection timeout.
+// Without the setting (JPA test slices) it is the plain TableGenerator.
+public class EmployeeIdGenerator extends TableGenerator {
+
+    public static final String DATA_SOURCE = "employee.id-generator.data-source";
+
+    private DataSource dataSource;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        super.configure(type, parameters, serviceRegistry);
+        dataSource = (DataSource) serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .get(DATA_SOURCE);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (dataSource == null || !(session instanceof SessionImplementor sessionImplementor)) {
+            return super.generate(session, object);
+        }
+        // TableGenerator only takes the isolation delegate from the session's transaction coordinator
+        return super.generate(new IsolatedSession(sessionImplementor, dataSource), object);
+    }
+
+    private static class IsolatedSession extends SharedSessionDelegatorBaseImpl {
+
+        private TransactionCoordinator transactionCoordinator;
+
+        IsolatedSession(SessionImplementor session, DataSource dataSource) {
+            super(session);
+            this.transactionCoordinator = new IsolatedTransactionCoordinator(
+                    session.getTransactionCoordinator(),
+                    new DataSourceIsolationDelegate(dataSource)
+            );
+        }
+
+        @Override
+        public TransactionCoordinator getTransactionCoordinator() {
+            return transactionCoordinator;
+        }
+    }
+
+    // the work runs in its own transaction on the DataSource, like JdbcIsolationDelegate
+    private record DataSourceIsolationDelegate(DataSource dataSource) implements IsolationDelegate {
+
+        @Override
+        public <T> T delegateWork(WorkExecutorVisitable<T> work, boolean transacted) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(!transacted);
+                try {
+                    T result = work.accept(new WorkExecutor<>(), connection);
+                    if (transacted) {
+                        connection.commit();
+                    }
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    if (transacted) {
+                        connection.rollback();
+                    }
+                    throw e;
+                }
+            } catch (SQLException e) {
+                throw new HibernateException("Unable to reserve employee ids", e);
+            }
+        }
+
+        @Override
+        public <T> T delegateCallable(Callable<T> callable, boolean transacted) {
+            try {
+                return callable.call();
+            } catch (HibernateException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new HibernateException(e);
+            }
+        }
+    }
+
+    private record IsolatedTransactionCoordinator(
+            TransactionCoordinator delegate,
+            IsolationDelegate isolationDelegate
+    ) implements TransactionCoordinator {
+
+        @Override
+        public IsolationDelegate createIsolationDelegate() {
+            return isolationDelegate;
+        }
+
+        @Override
+        public TransactionCoordinatorBuilder getTransactionCoordinatorBuilder() {
+            return delegate.getTransactionCoordinatorBuilder();
+        }
+
+        @Override
+        public TransactionDriver getTransactionDriverControl() {
+            return delegate.getTransactionDriverControl();
+        }
+
+        @Override
+        public SynchronizationRegistry getLocalSynchronizations() {
+            return delegate.getLocalSynchronizations();
+        }
+
+        @Override
+        public JpaCompliance getJpaCompliance() {
+            return delegate.getJpaCompliance();
+        }
+
+        @Override
+        public void explicitJoin() {
+            delegate.explicitJoin();
+        }
+
+        @Override
+        public boolean isJoined() {
+            return delegate.isJoined();
+        }
+
+        @Override
+        public void pulse() {
+            delegate.pulse();
+        }
+
+        @Override
+        public boolean isActive() {
+            return delegate.isActive();
+        }
+
+        @Override
+        public void addObserver(TransactionObserver observer) {
+            delegate.addObserver(observer);
+        }
+
+        @Override
+        public void removeObserver(TransactionObserver observer) {
+            delegate.removeObserver(observer);
+        }
+
+        @Override
+        public void setTimeOut(int seconds) {
+            delegate.setTimeOut(seconds);
+        }
+
+        @Override
+        public int getTimeOut() {
+            return delegate.getTimeOut();
+        }
+    }
+}
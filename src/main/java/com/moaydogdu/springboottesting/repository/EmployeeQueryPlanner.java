@@ -0,0 +1,159 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Decides up front whether an EmployeeQuery can be answered from one of the employees
+// indexes, and refuses it (IllegalArgumentException) when it would scan the table.
+// The indexes mirror Employee's @Table; InnoDB appends the id to every secondary index.
+// A query is served by an index when
+// - its equality filters are a prefix of the index columns, or the index starts with
+//   the id and there is an id range (no filter at all is fine, the page stops the scan),
+// - filters outside that prefix (email domain, equalities behind it) only run over an
+//   id range of at most maxScanRows ids, unless an equality prefix already narrows the rows,
+// - the sort is the next index columns, all in one direction.
+// The sort is completed with the remaining index columns, so pages are stable.
+public final class EmployeeQueryPlanner {
+
+    static final String PRIMARY = "PRIMARY";
+
+    static final String ID = "id";
+
+    static final String FIRST_NAME = "firstName";
+
+    static final String LAST_NAME = "lastName";
+
+    static final String EMAIL = "email";
+
+    private static final Set<String> SORTABLE = Set.of(ID, FIRST_NAME, LAST_NAME, EMAIL);
+
+    // preferred in this order when several serve a query equally well
+    private static final List<Index> INDEXES = List.of(
+            new Index(PRIMARY, List.of(ID)),
+            new Index("idx_employees_name", List.of(FIRST_NAME, LAST_NAME, ID)),
+            new Index("idx_employees_last_name", List.of(LAST_NAME, ID)),
+            new Index(Employee.EMAIL_UNIQUE_CONSTRAINT, List.of(EMAIL, ID))
+    );
+
+    private EmployeeQueryPlanner() {
+    }
+
+    public static Plan plan(
+            EmployeeQuery query,
+            long maxScanRows
+    ) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (query.sort() != null) {
+            for (Sort.Order order : query.sort()) {
+                if (!SORTABLE.contains(order.getProperty())) {
+                    throw new IllegalArgumentException("Cannot sort by " + order.getProperty());
+                }
+                orders.add(order);
+            }
+        }
+
+        Set<String> equalities = new LinkedHashSet<>();
+        if (query.firstName() != null) {
+            equalities.add(FIRST_NAME);
+        }
+        if (query.lastName() != null) {
+            equalities.add(LAST_NAME);
+        }
+
+        Plan best = null;
+        int bestPrefix = -1;
+        for (Index index : INDEXES) {
+            int prefix = equalityPrefix(index, equalities);
+            if (prefix > bestPrefix) {
+                Sort sort = serve(index, prefix, equalities, orders, query, maxScanRows);
+                if (sort != null) {
+                    best = new Plan(index.name(), sort);
+                    bestPrefix = prefix;
+                }
+            }
+        }
+        if (best == null) {
+            throw new IllegalArgumentException("No index serves this filter and sort");
+        }
+        return best;
+    }
+
+    // the ORDER BY when the index serves the query, null when it does not
+    private static Sort serve(
+            Index index,
+            int prefix,
+            Set<String> equalities,
+            List<Sort.Order> orders,
+            EmployeeQuery query,
+            long maxScanRows
+    ) {
+        List<String> rest = index.columns().subList(prefix, index.columns().size());
+        boolean idRange = query.minId() != null || query.maxId() != null;
+        boolean rangeAccess = idRange && rest.get(0).equals(ID);
+
+        if (query.hasFilter()) {
+            if (prefix == 0 && !rangeAccess) {
+                return null;
+            }
+            boolean residual = query.emailDomain() != null || equalities.size() > prefix;
+            if (prefix == 0 && residual && !boundedIdRange(query, maxScanRows)) {
+                return null;
+            }
+        }
+
+        // columns fixed by an equality can be sorted on in any direction
+        List<String> fixed = index.columns().subList(0, prefix);
+        List<Sort.Order> remaining = orders.stream()
+                .filter(order -> !fixed.contains(order.getProperty()))
+                .toList();
+        if (remaining.size() > rest.size()) {
+            return null;
+        }
+        Sort.Direction direction = remaining.isEmpty() ? Sort.Direction.ASC : remaining.get(0).getDirection();
+        for (int i = 0; i < remaining.size(); i++) {
+            if (!remaining.get(i).getProperty().equals(rest.get(i))
+                    || remaining.get(i).getDirection() != direction) {
+                return null;
+            }
+        }
+        return Sort.by(rest.stream().map(column -> new Sort.Order(direction, column)).toList());
+    }
+
+    private static int equalityPrefix(Index index, Set<String> equalities) {
+        int prefix = 0;
+        while (prefix < index.columns().size() && equalities.contains(index.columns().get(prefix))) {
+            prefix++;
+        }
+        return prefix;
+    }
+
+    // the width of e.g. minId=-1&maxId=9223372036854775807 does not fit a long
+    private static boolean boundedIdRange(EmployeeQuery query, long maxScanRows) {
+        if (query.minId() == null || query.maxId() == null) {
+            return false;
+        }
+        try {
+            return Math.subtractExact(query.maxId(), query.minId()) < maxScanRows;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    public record Plan(
+            String index,
+            Sort sort
+    ) {
+    }
+
+    private record Index(
+            String name,
+            List<String> columns
+    ) {
+    }
+}
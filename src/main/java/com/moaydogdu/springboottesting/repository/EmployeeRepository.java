@@ -1,19 +1,108 @@
 package com.moaydogdu.springboottesting.repository;
 
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
+
+    // query cache region of the name lookups, see application.conf
+    String NAME_QUERY_CACHE_REGION = "employee-name-queries";
 
     Optional<Employee> findEmployeeByEmail(String email);
 
+    // set-based duplicate check for a whole import chunk; read-write so it runs on the
+    // primary, a lagging replica would let duplicates through to the unique constraint
+    @Transactional
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    Set<String> findExistingEmails(
+            @Param("emails") Collection<String> emails
+    );
+
+    // version only, so conditional GETs can answer 304 without loading the row
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(
+            @Param("id") long id
+    );
+
+    // one row as a DTO projection, e.g. the state after an UPDATE that did not load the entity
+    <T> Optional<T> findProjectedById(
+            long id,
+            Class<T> type
+    );
+
+    // the row as an unmanaged instance straight from the table, past the persistence context
+    // and the second-level cache, e.g. the state and version an UPDATE without the entity left
+    @Query("SELECT new com.moaydogdu.springboottesting.model.entity.Employee(" +
+            "e.id, e.firstName, e.lastName, e.email, e.version, e.updatedAt) " +
+            "FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findDetachedById(
+            @Param("id") long id
+    );
+
+    // keyset pagination over the primary key, no OFFSET scan and no count query
+    List<Employee> findByIdGreaterThanOrderByIdAsc(
+            long id,
+            Pageable pageable
+    );
+
+    // the same page as a DTO projection such as EmployeeView
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(
+            long id,
+            Pageable pageable,
+            Class<T> type
+    );
+
+    // rows come off a server-side cursor (useCursorFetch) as unmanaged instances,
+    // so neither the driver nor the persistence context buffers the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.moaydogdu.springboottesting.model.entity.Employee(" +
+            "e.id, e.firstName, e.lastName, e.email, e.version, e.updatedAt) " +
+            "FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAll();
+
+    // whole table as a DTO projection such as EmployeeView or EmployeeName, selecting
+    // only the projected columns into the record constructor
+    <T> List<T> findAllBy(
+            Class<T> type
+    );
+
+    // bounded name lookup served by idx_employees_name (InnoDB appends the id, so the
+    // ORDER BY needs no sort); pass Employee.class or a projection such as EmployeeNameView.
+    // Results are query-cached until the next write to the employees table
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION)
+    })
+    <T> List<T> findByFirstNameAndLastNameOrderByIdAsc(
+            String firstName,
+            String lastName,
+            Pageable pageable,
+            Class<T> type
+    );
+
+    // the four single-result name queries below throw when a name is shared; new callers
+    // use findByFirstNameAndLastNameOrderByIdAsc
     // define custom query using JPQL with index params
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION)
+    })
     @Query("SELECT e FROM Employee e WHERE e.firstName = ?1 AND e.lastName = ?2")
     Employee findByJPQL(
             String firstName,
@@ -22,6 +111,10 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long> {
 
 
     // define custom query using JPQL with named params
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION)
+    })
     @Query("SELECT e FROM Employee e " +
             "WHERE e.firstName = :firstName AND e.lastName = :lastName")
     Employee findByJPQLNamedParams(
@@ -29,7 +122,13 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long> {
             @Param("lastName") String lastName
     );
 
-    // define custom query using native query
+    // define custom query using native query; the declared table is what invalidates
+    // the cached result, Hibernate cannot tell from the SQL
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
     @Query(
             value = "SELECT * FROM employees e " +
             "WHERE e.first_name = ?1 AND e.last_name = ?2",
@@ -41,6 +140,11 @@ public interface EmployeeRepository extends JpaRepository<Employee,Long> {
     );
 
     // define custom query using Native SQL with named params
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = NAME_QUERY_CACHE_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "employees")
+    })
     @Query(
             value = "SELECT * FROM employees e " +
             "WHERE e.first_name = :firstName AND e.last_name = :lastName",
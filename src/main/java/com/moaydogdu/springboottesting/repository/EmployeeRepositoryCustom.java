@@ -0,0 +1,54 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface EmployeeRepositoryCustom {
+
+    // by the natural id: email -> id from the natural-id cache, the row from the entity cache,
+    // the database only on a miss. The cache keys are case sensitive, MySQL's comparison is not
+    Optional<Employee> findByNaturalEmail(String email);
+
+    // the employees with these ids, in the same order and null where there is none; the
+    // persistence context and second-level cache answer first, the rest is read chunkSize ids per IN list
+    List<Employee> loadInOrder(List<Long> ids, int chunkSize);
+
+    // one page of views, reading a single extra row to tell whether there is a next page;
+    // no count query (countUpTo when a total is needed)
+    Slice<EmployeeView> findViews(Specification<Employee> specification, Pageable pageable);
+
+    // the number of matching employees, but at most limit: the ids are read along the
+    // same index as the page and the read stops after limit rows
+    int countUpTo(Specification<Employee> specification, int limit);
+
+    // inserts all rows through Hibernate JDBC batches and sets the generated ids
+    void batchInsert(List<Employee> employees);
+
+    // one UPDATE touching only the non-null columns and bumping the version;
+    // a non-null expectedVersion makes it conditional. Returns the matched row count
+    int updateFields(long id, Long expectedVersion, String firstName, String lastName, String email);
+
+    // set-based deletes over JDBC, no entity load. The matching rows are locked and read
+    // first (id and email), so the second-level cache loses exactly their entries rather
+    // than the whole entity and natural-id regions a bulk HQL DELETE clears
+    int deleteEmployeeById(long id);
+
+    // the ids actually deleted, for the outbox
+    List<Long> deleteEmployeesByIds(Collection<Long> ids);
+
+    List<Long> deleteEmployeesByName(String firstName, String lastName);
+
+    // walks a forward-only cursor fetching fetchSize rows at a time. Without since: id > afterId
+    // in id order. With since: keyset on (updated_at, id) after (since, afterId), in that order
+    void exportRows(Instant since, long afterId, int fetchSize, Consumer<EmployeeExportRow> consumer);
+}
@@ -0,0 +1,317 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final String[] EMPLOYEE_QUERY_SPACES = {"employees"};
+
+    private static final String EXPORT_COLUMNS = "SELECT id, first_name, last_name, email, updated_at FROM employees ";
+
+    // Hibernate stores Instant on MySQL as a UTC DATETIME(6), bound with a UTC calendar
+    static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+
+    private JdbcTemplate jdbcTemplate;
+
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private EntityManager entityManager;
+
+    public EmployeeRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.entityManager = entityManager;
+    }
+
+    // the Session behind the shared EntityManager only lives as long as a transaction
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Employee> findByNaturalEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Employee> loadInOrder(List<Long> ids, int chunkSize) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Employee.class)
+                // multiLoad only consults the second-level cache with an explicit cache mode
+                .with(CacheMode.NORMAL)
+                .withBatchSize(chunkSize)
+                .multiLoad(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<EmployeeView> findViews(Specification<Employee> specification, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeView> query = builder.createQuery(EmployeeView.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(builder.construct(
+                EmployeeView.class,
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("email")
+        ));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+        List<EmployeeView> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int countUpTo(Specification<Employee> specification, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(root.get("id"));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .size();
+    }
+
+    // table-generated ids are known before the INSERT, so one flush sends the rows as
+    // hibernate.jdbc.batch_size JDBC batches (multi-row INSERTs with rewriteBatchedStatements);
+    // clearing afterwards keeps the persistence context from growing across chunks
+    @Override
+    @Transactional
+    public void batchInsert(List<Employee> employees) {
+        for (Employee employee : employees) {
+            entityManager.persist(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Connector/J reports matched rather than changed rows (useAffectedRows=false),
+    // so an UPDATE that writes the current values still returns 1
+    @Override
+    @Transactional
+    public int deleteEmployeeById(long id) {
+        return deleteEmployeesByIds(List.of(id)).size();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteEmployeesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return delete("WHERE id IN (:ids)", Map.of("ids", ids));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteEmployeesByName(String firstName, String lastName) {
+        return delete(
+                "WHERE first_name = :firstName AND last_name = :lastName",
+                Map.of("firstName", firstName, "lastName", lastName)
+        );
+    }
+
+    // the locking read holds the rows (and, under REPEATABLE READ, the gaps between them),
+    // so the DELETE removes exactly the rows read
+    private List<Long> delete(String condition, Map<String, ?> parameters) {
+        List<Long> ids = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, email FROM employees " + condition + " FOR UPDATE",
+                parameters,
+                (RowCallbackHandler) resultSet -> {
+                    ids.add(resultSet.getLong(1));
+                    emails.add(resultSet.getString(2));
+                }
+        );
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.update("DELETE FROM employees " + condition, parameters);
+        evictOnCompletion(ids, emails);
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public int updateFields(long id, Long expectedVersion, String firstName, String lastName, String email) {
+        List<String> assignments = new ArrayList<>(5);
+        List<Object> arguments = new ArrayList<>(6);
+        if (firstName != null) {
+            assignments.add("first_name = ?");
+            arguments.add(firstName);
+        }
+        if (lastName != null) {
+            assignments.add("last_name = ?");
+            arguments.add(lastName);
+        }
+        if (email != null) {
+            assignments.add("email = ?");
+            arguments.add(email);
+        }
+
+        List<Object> conditionArguments = new ArrayList<>(2);
+        String condition = " WHERE id = ?";
+        conditionArguments.add(id);
+        if (expectedVersion != null) {
+            condition += " AND version = ?";
+            conditionArguments.add(expectedVersion);
+        }
+
+        if (assignments.isEmpty()) {
+            return jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM employees" + condition,
+                    Integer.class,
+                    conditionArguments.toArray()
+            );
+        }
+
+        // the cached email resolution is keyed by the old email, read under the row lock
+        List<String> evictedEmails = List.of();
+        if (email != null) {
+            String previousEmail = jdbcTemplate.query(
+                    "SELECT email FROM employees WHERE id = ? FOR UPDATE",
+                    resultSet -> resultSet.next() ? resultSet.getString(1) : null,
+                    id
+            );
+            evictedEmails = previousEmail == null ? List.of(email) : List.of(previousEmail, email);
+        }
+
+        assignments.add("version = version + 1");
+        assignments.add("updated_at = ?");
+        arguments.add(utcTimestamp(Instant.now()));
+        arguments.addAll(conditionArguments);
+        int updatedRows = jdbcTemplate.update(
+                "UPDATE employees SET " + String.join(", ", assignments) + condition,
+                arguments.toArray()
+        );
+        if (updatedRows > 0) {
+            evictOnCompletion(List.of(id), evictedEmails);
+        }
+        return updatedRows;
+    }
+
+    // JDBC writes bypass Hibernate, so the second-level cache is told by hand: the cached
+    // rows, the resolutions of the given emails, and the cached queries on the table, entry
+    // by entry rather than region-wide. Queries are kept from caching from now on, the
+    // entries go when the transaction completes
+    private void evictOnCompletion(List<Long> ids, List<String> emails) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        CacheImplementor cache = session.getFactory().getCache();
+        EntityPersister persister = session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Employee.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdMapping().getCacheAccess();
+        cache.getTimestampsCache().preInvalidate(EMPLOYEE_QUERY_SPACES, session);
+        session.getActionQueue().registerProcess((success, completedSession) -> {
+            for (Long id : ids) {
+                cache.evictEntityData(Employee.class, id);
+            }
+            for (String email : emails) {
+                naturalIds.evict(naturalIds.generateCacheKey(email, persister, completedSession));
+            }
+            cache.getTimestampsCache().invalidate(EMPLOYEE_QUERY_SPACES, completedSession);
+        });
+    }
+
+    @Override
+    public void exportRows(Instant since, long afterId, int fetchSize, Consumer<EmployeeExportRow> consumer) {
+        String sql;
+        List<Object> arguments = new ArrayList<>(3);
+        if (since == null) {
+            sql = EXPORT_COLUMNS + "WHERE id > ? ORDER BY id";
+            arguments.add(afterId);
+        } else {
+            // row-value comparisons are not turned into an index range by MySQL, hence the OR
+            sql = EXPORT_COLUMNS + "WHERE updated_at > ? OR (updated_at = ? AND id > ?) ORDER BY updated_at, id";
+            arguments.add(utcTimestamp(since));
+            arguments.add(utcTimestamp(since));
+            arguments.add(afterId);
+        }
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            sql,
+                            ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY
+                    );
+                    statement.setFetchSize(fetchSize);
+                    new ArgumentPreparedStatementSetter(arguments.toArray()).setValues(statement);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(new EmployeeExportRow(
+                        resultSet.getLong(1),
+                        resultSet.getString(2),
+                        resultSet.getString(3),
+                        resultSet.getString(4),
+                        toInstant(resultSet.getTimestamp(5, UTC))
+                ))
+        );
+    }
+
+    static SqlTypeValue utcTimestamp(Instant instant) {
+        return (statement, index, sqlType, typeName) ->
+                statement.setTimestamp(index, Timestamp.from(instant), UTC);
+    }
+
+    static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
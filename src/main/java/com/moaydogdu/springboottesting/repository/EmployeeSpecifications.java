@@ -0,0 +1,55 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+// Criteria predicates for GET /api/employees; EmployeeQueryPlanner decides which
+// combinations an index serves
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeQuery query) {
+        Specification<Employee> specification = Specification.where(null);
+        if (query.firstName() != null) {
+            specification = specification.and(hasFirstName(query.firstName()));
+        }
+        if (query.lastName() != null) {
+            specification = specification.and(hasLastName(query.lastName()));
+        }
+        if (query.emailDomain() != null) {
+            specification = specification.and(hasEmailDomain(query.emailDomain()));
+        }
+        if (query.minId() != null) {
+            specification = specification.and(idAtLeast(query.minId()));
+        }
+        if (query.maxId() != null) {
+            specification = specification.and(idAtMost(query.maxId()));
+        }
+        return specification;
+    }
+
+    public static Specification<Employee> hasFirstName(String firstName) {
+        return (root, query, builder) -> builder.equal(root.get(EmployeeQueryPlanner.FIRST_NAME), firstName);
+    }
+
+    public static Specification<Employee> hasLastName(String lastName) {
+        return (root, query, builder) -> builder.equal(root.get(EmployeeQueryPlanner.LAST_NAME), lastName);
+    }
+
+    // a suffix match, no index can seek it; only runs behind a narrowing filter
+    public static Specification<Employee> hasEmailDomain(String domain) {
+        String pattern = "%@" + domain.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return (root, query, builder) -> builder.like(root.get(EmployeeQueryPlanner.EMAIL), pattern, '\\');
+    }
+
+    public static Specification<Employee> idAtLeast(long minId) {
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(EmployeeQueryPlanner.ID), minId);
+    }
+
+    public static Specification<Employee> idAtMost(long maxId) {
+        return (root, query, builder) -> builder.lessThanOrEqualTo(root.get(EmployeeQueryPlanner.ID), maxId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// The employee_changes outbox for the reactive profile: the insert joins the caller's
+// R2DBC transaction, the feed itself is served by EmployeeChangePublisher
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeChangeRepository {
+
+    private R2dbcEntityTemplate template;
+
+    public ReactiveEmployeeChangeRepository(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    public Mono<Void> insertChange(EmployeeChange change) {
+        change.setChangedAt(Instant.now());
+        return template.insert(change).then();
+    }
+}
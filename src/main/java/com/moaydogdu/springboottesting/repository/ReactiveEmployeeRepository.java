@@ -0,0 +1,119 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import io.r2dbc.spi.Result;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+// Backed by R2dbcEntityTemplate rather than a repository interface: Employee is also a JPA
+// @Entity, so Spring Data JPA would claim an R2dbcRepository interface in the default profile
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String RESERVE_ID_SQL =
+            "UPDATE " + Employee.ID_GENERATOR_TABLE + " SET next_val = LAST_INSERT_ID(next_val) + 1 WHERE name = ?";
+
+    private R2dbcEntityTemplate template;
+
+    public ReactiveEmployeeRepository(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    // 0 marks a new row; updates check and bump the version the same way Hibernate does
+    // for the blocking stack
+    public Mono<Employee> save(Employee employee) {
+        if (employee.getId() == 0) {
+            return reserveId().flatMap(id -> {
+                employee.setId(id);
+                return insert(employee);
+            });
+        }
+
+        long version = employee.getVersion() == null ? 0 : employee.getVersion();
+        Instant updatedAt = Instant.now();
+        return template.update(Employee.class)
+                .matching(query(where("id").is(employee.getId()).and("version").is(version)))
+                .apply(Update.update("first_name", employee.getFirstName())
+                        .set("last_name", employee.getLastName())
+                        .set("email", employee.getEmail())
+                        .set("version", version + 1)
+                        .set("updated_at", updatedAt))
+                .flatMap(updatedRows -> {
+                    if (updatedRows == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Employee " + employee.getId() + " was modified or deleted concurrently"
+                        ));
+                    }
+                    return Mono.just(employee.toBuilder().version(version + 1).updatedAt(updatedAt).build());
+                });
+    }
+
+    // a row whose id was taken with reserveId
+    public Mono<Employee> insert(Employee employee) {
+        employee.setVersion(0L);
+        employee.setUpdatedAt(Instant.now());
+        return template.insert(employee);
+    }
+
+    // takes one id from the generator row Hibernate allocates from (pooled-lo: next_val is the
+    // next free id); LAST_INSERT_ID is per connection, so both statements share one. Inside a
+    // transaction the generator row stays locked until it ends, so callers reserve before theirs
+    public Mono<Long> reserveId() {
+        return template.getDatabaseClient().inConnection(connection ->
+                Flux.from(connection.createStatement(RESERVE_ID_SQL)
+                                .bind(0, Employee.ID_GENERATOR_SEGMENT)
+                                .execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .reduce(0L, Long::sum)
+                        .flatMap(updatedRows -> {
+                            if (updatedRows == 0) {
+                                return Mono.error(new IllegalStateException(
+                                        "No " + Employee.ID_GENERATOR_TABLE + " row for " + Employee.ID_GENERATOR_SEGMENT
+                                ));
+                            }
+                            return Flux.from(connection.createStatement("SELECT LAST_INSERT_ID()").execute())
+                                    .flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                                    .single();
+                        })
+        );
+    }
+
+    public Flux<Employee> saveAll(Iterable<Employee> employees) {
+        return Flux.fromIterable(employees).concatMap(this::save);
+    }
+
+    public Mono<Employee> findById(long id) {
+        return template.selectOne(query(where("id").is(id)), Employee.class);
+    }
+
+    public Mono<Employee> findEmployeeByEmail(String email) {
+        return template.selectOne(query(where("email").is(email)), Employee.class);
+    }
+
+    // rows are emitted as the driver decodes them, with backpressure from the subscriber
+    public Flux<Employee> findAllByOrderByIdAsc() {
+        return template.select(Query.empty().sort(Sort.by("id")), Employee.class);
+    }
+
+    // the number of rows deleted
+    public Mono<Long> deleteById(long id) {
+        return template.delete(query(where("id").is(id)), Employee.class);
+    }
+
+    public Mono<Void> deleteAll() {
+        return template.delete(Query.empty(), Employee.class).then();
+    }
+}
@@ -0,0 +1,496 @@
+package com.moaydogdu.springboottesting.search;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index for type-ahead over first name, last name and email.
+// Values are lower-cased, stripped of accents and split on anything that is not a letter
+// or a digit ("john.doe@acme.com" -> john, doe, acme, com). A query matches an employee
+// when every query token is a prefix of one of its tokens; when that finds too few, name
+// tokens of four or more characters also match names one edit away (typo, missing or extra
+// letter, swapped neighbours). Readers share a lock, writers take it exclusively.
+public class EmployeeSearchIndex {
+
+    // most candidates a query looks at per pass; bounds the latency of broad queries
+    static final int MAX_CANDIDATES = 10_000;
+
+    static final int MIN_FUZZY_LENGTH = 4;
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Document> documents = new HashMap<>();
+
+    private TreeMap<String, Postings> nameTerms = new TreeMap<>();
+
+    private TreeMap<String, Postings> emailTerms = new TreeMap<>();
+
+    // single-character deletions of every name term -> the name terms they came from
+    private Map<String, Set<String>> nameDeletions = new HashMap<>();
+
+    public void put(EmployeeView employee) {
+        lock.writeLock().lock();
+        try {
+            remove(employee.id(), documents.get(employee.id()));
+            add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // null fields keep the indexed value; an employee that is not indexed is left alone
+    public void update(long id, String firstName, String lastName, String email) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(id);
+            if (previous == null) {
+                return;
+            }
+            remove(id, previous);
+            add(new EmployeeView(
+                    id,
+                    firstName != null ? firstName : previous.employee.firstName(),
+                    lastName != null ? lastName : previous.employee.lastName(),
+                    email != null ? email : previous.employee.email()
+            ));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                remove(id, documents.get(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // same match as the DELETE: whole names, case-insensitive
+    public void removeByName(String firstName, String lastName) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (Document document : documents.values()) {
+                if (firstName.equalsIgnoreCase(document.employee.firstName())
+                        && lastName.equalsIgnoreCase(document.employee.lastName())) {
+                    ids.add(document.employee.id());
+                }
+            }
+            for (Long id : ids) {
+                remove(id, documents.get(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // prefix matches first, ordered by the matched term, then fuzzy matches
+    public List<EmployeeView> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            List<EmployeeView> results = new ArrayList<>(limit);
+
+            Matcher[] prefixMatchers = new Matcher[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                prefixMatchers[i] = new Matcher(tokens[i], Set.of());
+            }
+            collect(prefixMatchers, limit, seen, results);
+
+            if (results.size() < limit) {
+                Matcher[] fuzzyMatchers = new Matcher[tokens.length];
+                boolean fuzzy = false;
+                for (int i = 0; i < tokens.length; i++) {
+                    Set<String> similarTerms = similarNameTerms(tokens[i]);
+                    fuzzy |= !similarTerms.isEmpty();
+                    fuzzyMatchers[i] = new Matcher(tokens[i], similarTerms);
+                }
+                if (fuzzy) {
+                    collect(fuzzyMatchers, limit, seen, results);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // walks the postings of the most selective token and checks the others on the document
+    private void collect(
+            Matcher[] matchers,
+            int limit,
+            Set<Long> seen,
+            List<EmployeeView> results
+    ) {
+        Matcher driver = matchers[0];
+        int fewest = Integer.MAX_VALUE;
+        for (Matcher matcher : matchers) {
+            int candidates = countCandidates(matcher, Math.min(fewest, MAX_CANDIDATES + 1));
+            if (candidates < fewest) {
+                fewest = candidates;
+                driver = matcher;
+            }
+        }
+        if (fewest == 0) {
+            return;
+        }
+
+        int examined = 0;
+        for (Collection<Postings> source : candidateSources(driver)) {
+            for (Postings postings : source) {
+                for (int i = 0; i < postings.size; i++) {
+                    if (++examined > MAX_CANDIDATES) {
+                        return;
+                    }
+                    long id = postings.ids[i];
+                    if (seen.contains(id)) {
+                        continue;
+                    }
+                    Document document = documents.get(id);
+                    if (matchesAll(document, matchers)) {
+                        seen.add(id);
+                        results.add(document.employee);
+                        if (results.size() == limit) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // stops once the count reaches the cap
+    private int countCandidates(Matcher matcher, int cap) {
+        int count = 0;
+        for (Collection<Postings> source : candidateSources(matcher)) {
+            for (Postings postings : source) {
+                count += postings.size;
+                if (count >= cap) {
+                    return cap;
+                }
+            }
+        }
+        return count;
+    }
+
+    // range views, so counting and collecting stop early on broad prefixes
+    private List<Collection<Postings>> candidateSources(Matcher matcher) {
+        List<Collection<Postings>> sources = new ArrayList<>(3);
+        sources.add(prefixRange(nameTerms, matcher.prefix).values());
+        sources.add(prefixRange(emailTerms, matcher.prefix).values());
+        if (!matcher.similarTerms.isEmpty()) {
+            List<Postings> similar = new ArrayList<>(matcher.similarTerms.size());
+            for (String term : matcher.similarTerms) {
+                similar.add(nameTerms.get(term));
+            }
+            sources.add(similar);
+        }
+        return sources;
+    }
+
+    private static boolean matchesAll(Document document, Matcher[] matchers) {
+        for (Matcher matcher : matchers) {
+            if (!matcher.matches(document.tokens)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // name terms one insertion, deletion, substitution or transposition away
+    private Set<String> similarNameTerms(String token) {
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return Set.of();
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.addAll(nameDeletions.getOrDefault(token, Set.of()));
+        for (String deletion : deletions(token)) {
+            if (nameTerms.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            candidates.addAll(nameDeletions.getOrDefault(deletion, Set.of()));
+        }
+
+        Set<String> similar = new LinkedHashSet<>();
+        for (String candidate : candidates) {
+            if (!candidate.startsWith(token) && isOneEditAway(token, candidate)) {
+                similar.add(candidate);
+            }
+        }
+        return similar;
+    }
+
+    private void add(EmployeeView employee) {
+        String[] names = concat(tokenize(employee.firstName()), tokenize(employee.lastName()));
+        String[] emails = tokenize(employee.email());
+
+        String[] tokens = new String[names.length + emails.length];
+        for (int i = 0; i < names.length; i++) {
+            tokens[i] = addPosting(nameTerms, names[i], employee.id(), true);
+        }
+        for (int i = 0; i < emails.length; i++) {
+            tokens[names.length + i] = addPosting(emailTerms, emails[i], employee.id(), false);
+        }
+        documents.put(employee.id(), new Document(employee, tokens, names.length));
+    }
+
+    private void remove(long id, Document document) {
+        if (document == null) {
+            return;
+        }
+        for (int i = 0; i < document.tokens.length; i++) {
+            boolean name = i < document.nameTokens;
+            removePosting(name ? nameTerms : emailTerms, document.tokens[i], id, name);
+        }
+        documents.remove(id);
+    }
+
+    // returns the map's own key, so documents share the term strings
+    private String addPosting(
+            TreeMap<String, Postings> terms,
+            String term,
+            long id,
+            boolean name
+    ) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            postings = new Postings(term);
+            terms.put(term, postings);
+            if (name) {
+                for (String deletion : deletions(term)) {
+                    nameDeletions.computeIfAbsent(deletion, key -> new HashSet<>(2)).add(term);
+                }
+            }
+        }
+        postings.add(id);
+        return postings.term;
+    }
+
+    private void removePosting(
+            TreeMap<String, Postings> terms,
+            String term,
+            long id,
+            boolean name
+    ) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            return;
+        }
+        postings.remove(id);
+        if (postings.size == 0) {
+            terms.remove(term);
+            if (name) {
+                for (String deletion : deletions(term)) {
+                    Set<String> sources = nameDeletions.get(deletion);
+                    if (sources != null && sources.remove(term) && sources.isEmpty()) {
+                        nameDeletions.remove(deletion);
+                    }
+                }
+            }
+        }
+    }
+
+    static String[] tokenize(String value) {
+        if (value == null || value.isEmpty()) {
+            return NO_TOKENS;
+        }
+
+        String folded = fold(value);
+        List<String> tokens = new ArrayList<>(4);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!tokens.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens.toArray(NO_TOKENS);
+    }
+
+    // lower case without accents; plain ASCII skips the normalizer
+    private static String fold(String value) {
+        String lowerCase = value.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (lowerCase.charAt(i) >= 0x80) {
+                return COMBINING_MARKS
+                        .matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD))
+                        .replaceAll("");
+            }
+        }
+        return lowerCase;
+    }
+
+    private static NavigableMap<String, Postings> prefixRange(
+            TreeMap<String, Postings> terms,
+            String prefix
+    ) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static List<String> deletions(String term) {
+        List<String> deletions = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            String deletion = term.substring(0, i) + term.substring(i + 1);
+            if (!deletion.isEmpty()) {
+                deletions.add(deletion);
+            }
+        }
+        return deletions;
+    }
+
+    // optimal string alignment distance == 1
+    static boolean isOneEditAway(String a, String b) {
+        if (a.length() != b.length()) {
+            return Math.abs(a.length() - b.length()) == 1 && isOneInsertionAway(a, b);
+        }
+
+        int first = 0;
+        while (first < a.length() && a.charAt(first) == b.charAt(first)) {
+            first++;
+        }
+        if (first == a.length()) {
+            return false;
+        }
+        if (a.regionMatches(first + 1, b, first + 1, a.length() - first - 1)) {
+            return true;
+        }
+        return first + 1 < a.length()
+                && a.charAt(first) == b.charAt(first + 1)
+                && a.charAt(first + 1) == b.charAt(first)
+                && a.regionMatches(first + 2, b, first + 2, a.length() - first - 2);
+    }
+
+    private static boolean isOneInsertionAway(String a, String b) {
+        String shorter = a.length() < b.length() ? a : b;
+        String longer = a.length() < b.length() ? b : a;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        String[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static class Document {
+
+        private EmployeeView employee;
+
+        // name tokens first, then email tokens
+        private String[] tokens;
+
+        private int nameTokens;
+
+        Document(EmployeeView employee, String[] tokens, int nameTokens) {
+            this.employee = employee;
+            this.tokens = tokens;
+            this.nameTokens = nameTokens;
+        }
+    }
+
+    private static class Matcher {
+
+        private String prefix;
+
+        private Set<String> similarTerms;
+
+        Matcher(String prefix, Set<String> similarTerms) {
+            this.prefix = prefix;
+            this.similarTerms = similarTerms;
+        }
+
+        boolean matches(String[] tokens) {
+            for (String token : tokens) {
+                if (token.startsWith(prefix) || similarTerms.contains(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // sorted ids; new ids are mostly appended
+    private static class Postings {
+
+        private String term;
+
+        private long[] ids = new long[1];
+
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
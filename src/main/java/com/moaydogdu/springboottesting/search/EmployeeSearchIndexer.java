@@ -0,0 +1,126 @@
+package com.moaydogdu.springboottesting.search;
+
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.model.event.EmployeeFieldsUpdatedEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesDeletedByNameEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesDeletedEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesSavedEvent;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the EmployeeSearchIndex in step with the database: built from a cursor over the
+// table once the application is ready, then updated by the service's write events after
+// their transaction commits. Writes that land during a rebuild go to the index being
+// served and are replayed on the new one before it is swapped in.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSearchIndexer {
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeProperties employeeProperties;
+
+    private volatile EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+    // non-null while a rebuild runs; guarded by this
+    private List<Object> pendingEvents;
+
+    public EmployeeSearchIndexer(
+            EmployeeRepository employeeRepository,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.employeeProperties = employeeProperties;
+
+        Gauge.builder("employee.search.documents", this, indexer -> indexer.index.size())
+                .register(meterRegistry);
+    }
+
+    public List<EmployeeView> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // before the readiness probe reports ACCEPTING_TRAFFIC. Reads the primary outside of a
+    // read-only transaction: a lagging replica could miss writes made before the rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        EmployeeSearchIndex rebuilt = new EmployeeSearchIndex();
+        synchronized (this) {
+            pendingEvents = new ArrayList<>();
+        }
+        try {
+            employeeRepository.exportRows(
+                    null,
+                    0,
+                    employeeProperties.getExport().getFetchSize(),
+                    row -> rebuilt.put(new EmployeeView(row.id(), row.firstName(), row.lastName(), row.email()))
+            );
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingEvents = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (Object event : pendingEvents) {
+                apply(rebuilt, event);
+            }
+            pendingEvents = null;
+            index = rebuilt;
+        }
+    }
+
+    // fallbackExecution: the service also publishes outside of transactions
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesSaved(EmployeesSavedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeFieldsUpdated(EmployeeFieldsUpdatedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesDeleted(EmployeesDeletedEvent event) {
+        onEvent(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesDeletedByName(EmployeesDeletedByNameEvent event) {
+        onEvent(event);
+    }
+
+    private synchronized void onEvent(Object event) {
+        apply(index, event);
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+        }
+    }
+
+    private static void apply(EmployeeSearchIndex index, Object event) {
+        if (event instanceof EmployeesSavedEvent saved) {
+            saved.employees().forEach(index::put);
+        } else if (event instanceof EmployeeFieldsUpdatedEvent updated) {
+            index.update(updated.id(), updated.firstName(), updated.lastName(), updated.email());
+        } else if (event instanceof EmployeesDeletedEvent deleted) {
+            index.remove(deleted.ids());
+        } else if (event instanceof EmployeesDeletedByNameEvent deleted) {
+            index.removeByName(deleted.firstName(), deleted.lastName());
+        }
+    }
+}
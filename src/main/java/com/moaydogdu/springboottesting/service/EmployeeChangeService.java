@@ -0,0 +1,13 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface EmployeeChangeService {
+
+    // changes after the since sequence, oldest first; while there are none the future waits
+    // for the next one, and completes empty after employee.changes.long-poll-timeout
+    CompletableFuture<List<EmployeeChange>> getChanges(long since, int limit);
+}
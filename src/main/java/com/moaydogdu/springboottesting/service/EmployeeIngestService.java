@@ -0,0 +1,14 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.model.dto.EmployeeIngestStatus;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeIngestService {
+
+    // empty when the queue is full or draining for shutdown
+    Optional<EmployeeIngestStatus> submit(Employee employee);
+
+    Optional<EmployeeIngestStatus> getStatus(String trackingId);
+}
@@ -1,19 +1,63 @@
 package com.moaydogdu.springboottesting.service;
 
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeePage;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
 
+    List<EmployeeImportResult> saveEmployees(Iterator<Employee> employees);
+
     List<Employee> getAllEmployees();
 
+    List<EmployeeView> getEmployeeViewsAfter(long afterId, int limit);
+
+    List<EmployeeNameView> getAllEmployeeNames();
+
+    List<Employee> getEmployeesAfter(long afterId, int limit);
+
+    EmployeePage findEmployees(EmployeeQuery query);
+
+    void streamAllEmployees(Consumer<Employee> consumer);
+
+    void exportEmployees(Instant since, long afterId, Consumer<EmployeeExportRow> consumer);
+
     Optional<Employee> getEmployeeById(long id);
 
+    Optional<Employee> getEmployeeByEmail(String email);
+
+    EmployeeLookupResult getEmployeesByIds(List<Long> ids);
+
+    Optional<Long> getEmployeeVersion(long id);
+
+    List<Employee> searchEmployeesByName(String firstName, String lastName, int limit);
+
+    List<EmployeeNameView> searchEmployeeNamesByName(String firstName, String lastName, int limit);
+
+    // empty unless employee.search.enabled
+    Optional<List<EmployeeView>> searchEmployees(String query, int limit);
+
     Employee updateEmployee(Employee employee);
 
-    void deleteEmployeeById(long id);
+    Optional<Employee> updateEmployeeFields(long id, Long expectedVersion, Employee changes);
+
+    int deleteEmployeeById(long id);
+
+    int deleteEmployeesByIds(Collection<Long> ids);
+
+    int deleteEmployeesByName(String firstName, String lastName);
 }
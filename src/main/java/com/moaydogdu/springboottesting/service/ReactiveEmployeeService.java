@@ -0,0 +1,19 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> getEmployeeById(long id);
+
+    Mono<Employee> updateEmployee(Employee employee);
+
+    // the number of rows deleted
+    Mono<Long> deleteEmployeeById(long id);
+}
@@ -0,0 +1,224 @@
+package com.moaydogdu.springboottesting.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeIngestStatus;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.service.EmployeeIngestService;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind for POST /api/employees: requests are queued and answered with a tracking id,
+// one writer thread saves them in batches through EmployeeService.saveEmployees (one
+// duplicate query and one JDBC batch per batch). A full queue rejects instead of blocking.
+// Stops after the web server, so requests accepted before shutdown are still written.
+@Service
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.ingest", name = "enabled", havingValue = "true")
+public class AsyncEmployeeIngestService implements EmployeeIngestService, SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private EmployeeService employeeService;
+
+    private EmployeeProperties.Ingest ingest;
+
+    // at most one saveEmployees chunk, so a failed batch never follows a committed one
+    private int batchSize;
+
+    private BlockingQueue<PendingEmployee> queue;
+
+    private Cache<String, EmployeeIngestStatus> statuses;
+
+    private volatile boolean accepting;
+
+    private Thread writer;
+
+    private Counter acceptedRequests;
+
+    private Counter rejectedRequests;
+
+    private Timer batchTimer;
+
+    public AsyncEmployeeIngestService(
+            EmployeeService employeeService,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.employeeService = employeeService;
+        this.ingest = employeeProperties.getIngest();
+        this.batchSize = Math.min(ingest.getBatchSize(), employeeProperties.getBatch().getChunkSize());
+        this.queue = new ArrayBlockingQueue<>(ingest.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(ingest.getStatusMaximumSize())
+                .expireAfterWrite(ingest.getStatusTimeToLive())
+                .build();
+
+        Gauge.builder("employee.ingest.queue.size", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        this.acceptedRequests = Counter.builder("employee.ingest.requests")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.rejectedRequests = Counter.builder("employee.ingest.requests")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("employee.ingest.batches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<EmployeeIngestStatus> submit(Employee employee) {
+        String trackingId = UUID.randomUUID().toString();
+        EmployeeIngestStatus status = EmployeeIngestStatus.queued(trackingId);
+
+        // recorded first, the writer may finish the row before offer returns
+        statuses.put(trackingId, status);
+        if (!accepting || !queue.offer(new PendingEmployee(trackingId, employee))) {
+            statuses.invalidate(trackingId);
+            rejectedRequests.increment();
+            return Optional.empty();
+        }
+        acceptedRequests.increment();
+        return Optional.of(status);
+    }
+
+    @Override
+    public Optional<EmployeeIngestStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        writer = new Thread(this::drain, "employee-ingest-writer");
+        writer.start();
+    }
+
+    // the writer empties the queue, bounded by drain-timeout; what is left then is reported as failed
+    @Override
+    public void stop() {
+        accepting = false;
+        try {
+            writer.join(ingest.getDrainTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+
+        List<PendingEmployee> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        for (PendingEmployee pending : abandoned) {
+            statuses.put(pending.trackingId(), EmployeeIngestStatus.failed(
+                    pending.trackingId(),
+                    "Not written before shutdown"
+            ));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null && writer.isAlive();
+    }
+
+    // below the web server's phases: started before it, stopped after it
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<PendingEmployee> batch = new ArrayList<>(batchSize);
+        while (true) {
+            PendingEmployee first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (!accepting) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            batchTimer.record(() -> write(batch));
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingEmployee> batch) {
+        List<EmployeeImportResult> results;
+        try {
+            results = employeeService.saveEmployees(batch.stream().map(PendingEmployee::employee).iterator());
+        } catch (RuntimeException e) {
+            // e.g. a synchronous insert took one of the emails after the duplicate check
+            // and failed the whole batch; row by row isolates the offending rows
+            writeOneByOne(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            String trackingId = batch.get(i).trackingId();
+            statuses.put(trackingId, EmployeeIngestStatus.of(trackingId, results.get(i)));
+        }
+    }
+
+    private void writeOneByOne(List<PendingEmployee> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEmployee pending = batch.get(i);
+            // the failed batch may have assigned ids
+            Employee employee = pending.employee().toBuilder()
+                    .id(0)
+                    .version(null)
+                    .updatedAt(null)
+                    .build();
+
+            EmployeeIngestStatus status;
+            try {
+                Employee savedEmployee = employeeService.saveEmployee(employee);
+                status = EmployeeIngestStatus.of(
+                        pending.trackingId(),
+                        EmployeeImportResult.created(i, savedEmployee.getEmail(), savedEmployee.getId())
+                );
+            } catch (ResourceNotFoundException e) {
+                status = EmployeeIngestStatus.of(
+                        pending.trackingId(),
+                        EmployeeImportResult.duplicate(i, employee.getEmail())
+                );
+            } catch (RuntimeException e) {
+                status = EmployeeIngestStatus.failed(pending.trackingId(), e.getMessage());
+            }
+            statuses.put(pending.trackingId(), status);
+        }
+    }
+
+    private record PendingEmployee(
+            String trackingId,
+            Employee employee
+    ) {
+    }
+}
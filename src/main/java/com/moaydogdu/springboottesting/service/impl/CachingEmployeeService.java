@@ -0,0 +1,305 @@
+package com.moaydogdu.springboottesting.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeePage;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Read-through cache in front of EmployeeServiceImpl, keyed by id and by email.
+// Entries are private copies, so callers mutating a returned Employee never touch the cache.
+@Service
+@Primary
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employee.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+// the employee.service timers, cache hits included; see OutcomeTimedAspect
+@Timed(value = EmployeeServiceImpl.SERVICE_TIMER, histogram = true)
+public class CachingEmployeeService implements EmployeeService {
+
+    private EmployeeService delegate;
+
+    private Cache<Long, Employee> employeesById;
+
+    // email -> id; an entry is only trusted when the cached employee still has that email
+    private Cache<String, Long> employeeIdsByEmail;
+
+    private int maxLookupIds;
+
+    public CachingEmployeeService(
+            EmployeeServiceImpl delegate,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+
+        this.maxLookupIds = employeeProperties.getLookup().getMaxIds();
+
+        EmployeeProperties.Cache cache = employeeProperties.getCache();
+        this.employeesById = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+        this.employeeIdsByEmail = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, employeesById, "employees.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, employeeIdsByEmail, "employees.byEmail");
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        if (employee.getEmail() != null && cachedByEmail(employee.getEmail()) != null) {
+            throw new ResourceNotFoundException(
+                    "Employee already exists with given email: " + employee.getEmail()
+            );
+        }
+
+        Employee savedEmployee = delegate.saveEmployee(employee);
+        cache(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    public List<EmployeeImportResult> saveEmployees(Iterator<Employee> employees) {
+        return delegate.saveEmployees(employees);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return delegate.getAllEmployees();
+    }
+
+    @Override
+    public List<EmployeeView> getEmployeeViewsAfter(long afterId, int limit) {
+        return delegate.getEmployeeViewsAfter(afterId, limit);
+    }
+
+    @Override
+    public List<EmployeeNameView> getAllEmployeeNames() {
+        return delegate.getAllEmployeeNames();
+    }
+
+    @Override
+    public List<Employee> getEmployeesAfter(long afterId, int limit) {
+        return delegate.getEmployeesAfter(afterId, limit);
+    }
+
+    @Override
+    public EmployeePage findEmployees(EmployeeQuery query) {
+        return delegate.findEmployees(query);
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        delegate.streamAllEmployees(consumer);
+    }
+
+    @Override
+    public void exportEmployees(Instant since, long afterId, Consumer<EmployeeExportRow> consumer) {
+        delegate.exportEmployees(since, afterId, consumer);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(long id) {
+        Employee employee = employeesById.get(
+                id,
+                key -> delegate.getEmployeeById(key).orElse(null)
+        );
+        return Optional.ofNullable(employee).map(CachingEmployeeService::copy);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        Employee cached = cachedByEmail(email);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+
+        Optional<Employee> employee = delegate.getEmployeeByEmail(email);
+        employee.ifPresent(this::cache);
+        return employee;
+    }
+
+    // cached employees are answered from the cache, only the others go to the delegate;
+    // too many ids go to the delegate as they are, it rejects them
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > maxLookupIds) {
+            return delegate.getEmployeesByIds(distinctIds);
+        }
+        Map<Long, Employee> cached = employeesById.getAllPresent(distinctIds);
+        if (cached.isEmpty()) {
+            return delegate.getEmployeesByIds(distinctIds);
+        }
+
+        List<Long> uncachedIds = distinctIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+        Map<Long, EmployeeView> loaded = new HashMap<>();
+        List<Long> missingIds = List.of();
+        if (!uncachedIds.isEmpty()) {
+            EmployeeLookupResult result = delegate.getEmployeesByIds(uncachedIds);
+            result.employees().forEach(employee -> loaded.put(employee.id(), employee));
+            missingIds = result.missingIds();
+        }
+
+        List<EmployeeView> employees = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            Employee employee = cached.get(id);
+            EmployeeView view = employee != null ? EmployeeView.of(employee) : loaded.get(id);
+            if (view != null) {
+                employees.add(view);
+            }
+        }
+        return new EmployeeLookupResult(employees, missingIds);
+    }
+
+    // a cached entry answers conditional GETs without touching the database
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        Employee cached = employeesById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        return delegate.getEmployeeVersion(id);
+    }
+
+    @Override
+    public List<Employee> searchEmployeesByName(String firstName, String lastName, int limit) {
+        return delegate.searchEmployeesByName(firstName, lastName, limit);
+    }
+
+    @Override
+    public List<EmployeeNameView> searchEmployeeNamesByName(String firstName, String lastName, int limit) {
+        return delegate.searchEmployeeNamesByName(firstName, lastName, limit);
+    }
+
+    @Override
+    public Optional<List<EmployeeView>> searchEmployees(String query, int limit) {
+        return delegate.searchEmployees(query, limit);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        evict(employee.getId());
+        try {
+            Employee updatedEmployee = delegate.updateEmployee(employee);
+            cache(updatedEmployee);
+            return updatedEmployee;
+        } catch (RuntimeException e) {
+            evict(employee.getId());
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Employee> updateEmployeeFields(long id, Long expectedVersion, Employee changes) {
+        evict(id);
+        try {
+            return delegate.updateEmployeeFields(id, expectedVersion, changes);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public int deleteEmployeeById(long id) {
+        evict(id);
+        try {
+            return delegate.deleteEmployeeById(id);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        ids.forEach(this::evict);
+        try {
+            return delegate.deleteEmployeesByIds(ids);
+        } finally {
+            ids.forEach(this::evict);
+        }
+    }
+
+    // the deleted ids are unknown here, so the whole cache goes
+    @Override
+    public int deleteEmployeesByName(String firstName, String lastName) {
+        try {
+            return delegate.deleteEmployeesByName(firstName, lastName);
+        } finally {
+            employeesById.invalidateAll();
+            employeeIdsByEmail.invalidateAll();
+        }
+    }
+
+    private Employee cachedByEmail(String email) {
+        String key = normalizeEmail(email);
+        Long id = employeeIdsByEmail.getIfPresent(key);
+        if (id == null) {
+            return null;
+        }
+
+        Employee cached = employeesById.getIfPresent(id);
+        if (cached == null || !key.equals(normalizeEmail(cached.getEmail()))) {
+            employeeIdsByEmail.invalidate(key);
+            return null;
+        }
+        return cached;
+    }
+
+    private void cache(Employee employee) {
+        employeesById.put(employee.getId(), copy(employee));
+        if (employee.getEmail() != null) {
+            employeeIdsByEmail.put(normalizeEmail(employee.getEmail()), employee.getId());
+        }
+    }
+
+    // drops the id entry and the email entry of the version we had cached
+    private void evict(long id) {
+        Employee previous = employeesById.getIfPresent(id);
+        employeesById.invalidate(id);
+        if (previous != null && previous.getEmail() != null) {
+            employeeIdsByEmail.invalidate(normalizeEmail(previous.getEmail()));
+        }
+    }
+
+    private static Employee copy(Employee employee) {
+        return employee.toBuilder().build();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,328 @@
+package com.moaydogdu.springboottesting.service.impl;
+
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.repository.EmployeeChangeRepository;
+import com.moaydogdu.springboottesting.service.EmployeeChangeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Change feed over the employee_changes outbox: one poller thread reads new rows in sequence
+// order, keeps the latest in memory and completes the waiting long polls. Sequences are
+// AUTO_INCREMENT values, allocated at INSERT but visible at COMMIT, so a missing one is waited
+// for (gap-timeout) before the rows behind it are published. A change that commits within
+// gap-timeout is published in order. A skipped sequence is looked up again every poll for
+// late-commit-timeout; when its change turns up it is moved to a new sequence at the end of
+// the feed, so readers past the old one still get it. Only a sequence missing for that long
+// is taken as rolled back. With several instances one of them may already have published
+// the change under its old sequence, so the feed is at-least-once. Polling the primary key
+// range (and the skipped keys) is the only load a caught-up feed adds.
+@Service
+@Profile("!reactive")
+public class EmployeeChangePublisher implements EmployeeChangeService, SmartLifecycle {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final long CLEANUP_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    // a jump in the sequences (a restart, an auto_increment_increment) is not all tracked
+    private static final int MAX_SKIPPED = 10_000;
+
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private EmployeeProperties.Changes changes;
+
+    // guarded by this: the published changes, the sequence they end at, and the sequence
+    // just before the first one (everything in between is in recent)
+    private ArrayDeque<EmployeeChange> recent = new ArrayDeque<>();
+
+    private long watermark;
+
+    private long bufferedAfter;
+
+    private Set<Waiter> waiters = new HashSet<>();
+
+    // poller thread only
+    private long gapSequence = -1;
+
+    private long gapSeenAt;
+
+    // skipped sequence -> when it was skipped, oldest first
+    private Map<Long, Long> skipped = new LinkedHashMap<>();
+
+    private long nextCleanupAt;
+
+    private volatile boolean running;
+
+    private Thread poller;
+
+    private Counter publishedChanges;
+
+    private Counter pollErrors;
+
+    private Counter lateChanges;
+
+    private Counter abandonedSequences;
+
+    public EmployeeChangePublisher(
+            EmployeeChangeRepository employeeChangeRepository,
+            EmployeeProperties employeeProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.changes = employeeProperties.getChanges();
+
+        Gauge.builder("employee.changes.waiters", this, publisher -> publisher.waiterCount())
+                .register(meterRegistry);
+        this.publishedChanges = Counter.builder("employee.changes.published")
+                .register(meterRegistry);
+        this.pollErrors = Counter.builder("employee.changes.poll.errors")
+                .register(meterRegistry);
+        this.lateChanges = Counter.builder("employee.changes.late")
+                .register(meterRegistry);
+        this.abandonedSequences = Counter.builder("employee.changes.abandoned")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeChange>> getChanges(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        long upTo;
+        synchronized (this) {
+            if (since >= watermark) {
+                CompletableFuture<List<EmployeeChange>> future = new CompletableFuture<>();
+                Waiter waiter = new Waiter(since, pageSize, future);
+                waiters.add(waiter);
+                future.completeOnTimeout(List.of(), changes.getLongPollTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .whenComplete((result, failure) -> removeWaiter(waiter));
+                return future;
+            }
+            if (since >= bufferedAfter) {
+                return CompletableFuture.completedFuture(slice(since, pageSize));
+            }
+            upTo = watermark;
+        }
+        // older than the buffer; bounded by the watermark so an unpublished gap is never skipped
+        return CompletableFuture.completedFuture(
+                employeeChangeRepository.findChangesAfter(since, upTo, pageSize)
+        );
+    }
+
+    // one read of the outbox; returns the number of rows read, a full batch means there are more
+    public int publishPending() {
+        recheckSkipped();
+
+        long after;
+        synchronized (this) {
+            after = watermark;
+        }
+        List<EmployeeChange> rows = employeeChangeRepository.findChangesAfter(after, Long.MAX_VALUE, changes.getBatchSize());
+
+        List<EmployeeChange> published = new ArrayList<>(rows.size());
+        long last = after;
+        for (EmployeeChange row : rows) {
+            if (row.getId() != last + 1) {
+                if (!gapExpired(last + 1)) {
+                    break;
+                }
+                skip(last + 1, row.getId());
+            }
+            published.add(row);
+            last = row.getId();
+        }
+        if (published.isEmpty()) {
+            return rows.size();
+        }
+
+        List<Waiter> ready = new ArrayList<>();
+        synchronized (this) {
+            for (EmployeeChange change : published) {
+                recent.addLast(change);
+            }
+            while (recent.size() > changes.getBufferSize()) {
+                bufferedAfter = recent.removeFirst().getId();
+            }
+            watermark = last;
+
+            for (Waiter waiter : waiters) {
+                if (waiter.since() < watermark) {
+                    ready.add(waiter);
+                }
+            }
+            waiters.removeAll(ready);
+        }
+        publishedChanges.increment(published.size());
+
+        for (Waiter waiter : ready) {
+            List<EmployeeChange> slice;
+            synchronized (this) {
+                slice = slice(waiter.since(), waiter.limit());
+            }
+            waiter.future().complete(slice);
+        }
+        return rows.size();
+    }
+
+    // starts at the end of the outbox; earlier changes are read from the table on request
+    @Override
+    public void start() {
+        long lastId = employeeChangeRepository.findLastId();
+        synchronized (this) {
+            watermark = lastId;
+            bufferedAfter = lastId;
+        }
+        nextCleanupAt = System.nanoTime();
+        running = true;
+        poller = new Thread(this::poll, "employee-change-publisher");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    // open long polls are answered empty, so they do not hold up shutdown
+    @Override
+    public void stop() {
+        running = false;
+        poller.interrupt();
+        try {
+            poller.join(changes.getPollInterval().toMillis() * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Waiter> open;
+        synchronized (this) {
+            open = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        for (Waiter waiter : open) {
+            waiter.future().complete(List.of());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // same phase as the write-behind queue: started before the web server, stopped after it
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void poll() {
+        while (running) {
+            int read;
+            try {
+                read = publishPending();
+                deleteExpiredChanges();
+            } catch (RuntimeException e) {
+                // e.g. the primary failing over; the next poll retries from the same watermark
+                pollErrors.increment();
+                read = 0;
+            }
+            if (read < changes.getBatchSize()) {
+                try {
+                    Thread.sleep(changes.getPollInterval().toMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deleteExpiredChanges() {
+        if (System.nanoTime() - nextCleanupAt < 0) {
+            return;
+        }
+        nextCleanupAt = System.nanoTime() + CLEANUP_INTERVAL_NANOS;
+        employeeChangeRepository.deleteChangesBefore(Instant.now().minus(changes.getRetention()));
+    }
+
+    // a change found under a skipped sequence is published again by the next read, at its new one
+    private void recheckSkipped() {
+        long now = System.nanoTime();
+        Iterator<Long> skippedAt = skipped.values().iterator();
+        while (skippedAt.hasNext() && now - skippedAt.next() >= changes.getLateCommitTimeout().toNanos()) {
+            skippedAt.remove();
+            abandonedSequences.increment();
+        }
+
+        List<Long> ids = new ArrayList<>(skipped.keySet());
+        for (int from = 0; from < ids.size(); from += changes.getBatchSize()) {
+            List<Long> chunk = ids.subList(from, Math.min(from + changes.getBatchSize(), ids.size()));
+            for (EmployeeChange change : employeeChangeRepository.findChangesIn(chunk)) {
+                if (employeeChangeRepository.moveToEnd(change)) {
+                    lateChanges.increment();
+                }
+                skipped.remove(change.getId());
+            }
+        }
+    }
+
+    private void skip(long fromSequence, long toSequence) {
+        long now = System.nanoTime();
+        for (long sequence = fromSequence; sequence < toSequence; sequence++) {
+            if (skipped.size() == MAX_SKIPPED) {
+                abandonedSequences.increment(toSequence - sequence);
+                return;
+            }
+            skipped.put(sequence, now);
+        }
+    }
+
+    private boolean gapExpired(long sequence) {
+        if (gapSequence != sequence) {
+            gapSequence = sequence;
+            gapSeenAt = System.nanoTime();
+            return false;
+        }
+        return System.nanoTime() - gapSeenAt >= changes.getGapTimeout().toNanos();
+    }
+
+    // caller holds the lock
+    private List<EmployeeChange> slice(long since, int limit) {
+        List<EmployeeChange> slice = new ArrayList<>(Math.min(limit, recent.size()));
+        for (EmployeeChange change : recent) {
+            if (change.getId() > since) {
+                slice.add(change);
+                if (slice.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return slice;
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private synchronized int waiterCount() {
+        return waiters.size();
+    }
+
+    private record Waiter(
+            long since,
+            int limit,
+            CompletableFuture<List<EmployeeChange>> future
+    ) {
+    }
+}
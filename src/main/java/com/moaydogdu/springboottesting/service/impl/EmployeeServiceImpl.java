@@ -1,38 +1,171 @@
 package com.moaydogdu.springboottesting.service.impl;
 
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
 import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeePage;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.model.event.EmployeeFieldsUpdatedEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesDeletedByNameEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesDeletedEvent;
+import com.moaydogdu.springboottesting.model.event.EmployeesSavedEvent;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeName;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.repository.EmployeeChangeRepository;
+import com.moaydogdu.springboottesting.repository.EmployeeQueryPlanner;
 import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import com.moaydogdu.springboottesting.repository.EmployeeSpecifications;
+import com.moaydogdu.springboottesting.search.EmployeeSearchIndexer;
 import com.moaydogdu.springboottesting.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+// one employee.service timer per method, tagged with outcome and exception; behind the cache
+// the calls are already timed by CachingEmployeeService, see OutcomeTimedAspect
+@Timed(value = EmployeeServiceImpl.SERVICE_TIMER, histogram = true)
 //@RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final String SERVICE_TIMER = "employee.service";
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private EmployeeRepository employeeRepository;
 
+    private EmployeeProperties employeeProperties;
+
+    // no EmployeeSearchIndexer unless employee.search.enabled
+    private ObjectProvider<EmployeeSearchIndexer> employeeSearchIndexer;
+
+    // write events; listeners run after the surrounding transaction commits
+    private ApplicationEventPublisher eventPublisher;
+
+    // the outbox, written in the same transaction as the change it records
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    // import chunks are transactions of their own, the outbox rows commit with the batch
+    private TransactionTemplate transactionTemplate;
+
+    // null unless employee.coalescing.enabled and not employee.cache.enabled
+    private SingleFlight<Long, Optional<Employee>> employeeLoadsById;
+
+    private SingleFlight<String, Optional<Employee>> employeeLoadsByEmail;
+
     // Constructor Injection
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(
+            EmployeeRepository employeeRepository,
+            EmployeeProperties employeeProperties,
+            ObjectProvider<EmployeeSearchIndexer> employeeSearchIndexer,
+            ApplicationEventPublisher eventPublisher,
+            EmployeeChangeRepository employeeChangeRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
         this.employeeRepository = employeeRepository;
+        this.employeeProperties = employeeProperties;
+        this.employeeSearchIndexer = employeeSearchIndexer;
+        this.eventPublisher = eventPublisher;
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        EmployeeProperties.Coalescing coalescing = employeeProperties.getCoalescing();
+        // CachingEmployeeService's Caffeine loads already share one query per id
+        if (coalescing.isEnabled() && !employeeProperties.getCache().isEnabled()) {
+            this.employeeLoadsById = new SingleFlight<>(
+                    "byId",
+                    coalescing.getMaxWaiters(),
+                    coalescing.getMaxWait(),
+                    EmployeeServiceImpl::copy,
+                    meterRegistry
+            );
+            this.employeeLoadsByEmail = new SingleFlight<>(
+                    "byEmail",
+                    coalescing.getMaxWaiters(),
+                    coalescing.getMaxWait(),
+                    EmployeeServiceImpl::copy,
+                    meterRegistry
+            );
+        }
     }
 
+    // one INSERT; the unique email constraint does the duplicate check atomically
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
+        try {
+            Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+            recordChanges(EmployeeChange.Type.CREATED, List.of(EmployeeView.of(savedEmployee)));
+            eventPublisher.publishEvent(new EmployeesSavedEvent(List.of(EmployeeView.of(savedEmployee))));
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new ResourceNotFoundException(
+                        "Employee already exists with given email: " + employee.getEmail(),
+                        e
+                );
+            }
+            throw e;
+        }
+    }
 
-        Optional<Employee> savedEmployee = employeeRepository
-                .findEmployeeByEmail(employee.getEmail());
+    @Override
+    public List<EmployeeImportResult> saveEmployees(Iterator<Employee> employees) {
+        int chunkSize = employeeProperties.getBatch().getChunkSize();
 
-        if (savedEmployee.isPresent()){
-            throw new ResourceNotFoundException(
-                    "Employee already exists with given email: " + employee.getEmail()
-            );
+        List<EmployeeImportResult> results = new ArrayList<>();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk, results.size()));
+                chunk.clear();
+            }
         }
-
-        return employeeRepository.save(employee);
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk, results.size()));
+        }
+        return results;
     }
 
     @Override
@@ -40,18 +173,424 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAll();
     }
 
+    // a limit of 0 is employee.query.default-page-size
+    @Override
+    public List<EmployeeView> getEmployeeViewsAfter(long afterId, int limit) {
+        int pageSize = limit > 0
+                ? Math.min(limit, MAX_PAGE_SIZE)
+                : employeeProperties.getQuery().getDefaultPageSize();
+
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId,
+                PageRequest.of(0, pageSize),
+                EmployeeView.class
+        );
+    }
+
+    @Override
+    public List<EmployeeNameView> getAllEmployeeNames() {
+        return Collections.unmodifiableList(employeeRepository.findAllBy(EmployeeName.class));
+    }
+
+    @Override
+    public List<Employee> getEmployeesAfter(long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId,
+                PageRequest.of(0, pageSize)
+        );
+    }
+
+    // only queries an index serves run, anything else throws IllegalArgumentException
+    // (see EmployeeQueryPlanner), as do pages beyond employee.query.max-offset rows.
+    // The count only runs when a total is asked for, and stops past employee.query.max-scan-rows
+    // matches: a larger total is refused rather than counted over the whole table
+    @Override
+    public EmployeePage findEmployees(EmployeeQuery query) {
+        EmployeeProperties.Query limits = employeeProperties.getQuery();
+        int size = query.size() > 0 ? Math.min(query.size(), limits.getMaxPageSize()) : limits.getDefaultPageSize();
+        int page = Math.max(0, query.page());
+        if ((long) page * size > limits.getMaxOffset()) {
+            throw new IllegalArgumentException("Pages end at offset " + limits.getMaxOffset() + ", use after/limit beyond it");
+        }
+
+        EmployeeQueryPlanner.Plan plan = EmployeeQueryPlanner.plan(query, limits.getMaxScanRows());
+        Specification<Employee> specification = EmployeeSpecifications.matching(query);
+        Long total = null;
+        if (query.withTotal()) {
+            int maxTotal = (int) Math.min(limits.getMaxScanRows(), Integer.MAX_VALUE - 1);
+            int counted = employeeRepository.countUpTo(specification, maxTotal + 1);
+            if (counted > maxTotal) {
+                throw new IllegalArgumentException("More than " + maxTotal + " employees match, narrow the filter for a total");
+            }
+            total = (long) counted;
+        }
+        Slice<EmployeeView> slice = employeeRepository.findViews(
+                specification,
+                PageRequest.of(page, size, plan.sort())
+        );
+        return new EmployeePage(slice.getContent(), page, size, slice.hasNext(), total, plan.index());
+    }
+
+    // the stream has to be consumed inside the transaction that opened the cursor
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(consumer);
+        }
+    }
+
+    // same cursor rule as streamAllEmployees; read-only, so it runs on a replica when configured
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Instant since, long afterId, Consumer<EmployeeExportRow> consumer) {
+        employeeRepository.exportRows(
+                since,
+                afterId,
+                employeeProperties.getExport().getFetchSize(),
+                consumer
+        );
+    }
+
+    // concurrent calls for the same id share one findById
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        if (!coalesceLoads()) {
+            return employeeRepository.findById(id);
+        }
+        return employeeLoadsById.load(id, employeeRepository::findById);
+    }
+
+    // natural-id lookup, answered by the second-level cache when the email was seen before;
+    // concurrent calls for the same email share one lookup
+    @Override
+    public Optional<Employee> getEmployeeByEmail(String email) {
+        if (!coalesceLoads()) {
+            return employeeRepository.findByNaturalEmail(email);
+        }
+        return employeeLoadsByEmail.load(email, employeeRepository::findByNaturalEmail);
+    }
+
+    // one round trip per chunk of ids instead of one per id; throws IllegalArgumentException
+    // beyond employee.lookup.max-ids
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int maxIds = employeeProperties.getLookup().getMaxIds();
+        if (distinctIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per lookup, got " + distinctIds.size());
+        }
+
+        List<Employee> employees = employeeRepository.loadInOrder(
+                distinctIds,
+                employeeProperties.getBatch().getChunkSize()
+        );
+
+        List<EmployeeView> found = new ArrayList<>(distinctIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee == null) {
+                missingIds.add(distinctIds.get(i));
+            } else {
+                found.add(EmployeeView.of(employee));
+            }
+        }
+        return new EmployeeLookupResult(found, missingIds);
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
     }
 
     @Override
+    public List<Employee> searchEmployeesByName(String firstName, String lastName, int limit) {
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                firstName,
+                lastName,
+                searchPage(limit),
+                Employee.class
+        );
+    }
+
+    @Override
+    public List<EmployeeNameView> searchEmployeeNamesByName(String firstName, String lastName, int limit) {
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                firstName,
+                lastName,
+                searchPage(limit),
+                EmployeeNameView.class
+        );
+    }
+
+    // answered from the in-memory index, see EmployeeSearchIndex for the matching rules
+    @Override
+    public Optional<List<EmployeeView>> searchEmployees(String query, int limit) {
+        EmployeeSearchIndexer indexer = employeeSearchIndexer.getIfAvailable();
+        if (indexer == null) {
+            return Optional.empty();
+        }
+        return Optional.of(indexer.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_SIZE))));
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee updatedEmployee = employeeRepository.save(employee);
+        recordChanges(EmployeeChange.Type.UPDATED, List.of(EmployeeView.of(updatedEmployee)));
+        eventPublisher.publishEvent(new EmployeesSavedEvent(List.of(EmployeeView.of(updatedEmployee))));
+        return updatedEmployee;
+    }
+
+    // single UPDATE without loading the entity; null fields keep their current value.
+    // With an expected version a miss is told apart from a stale write by an existence check.
+    // The row is read back inside the transaction, still locked by the UPDATE, so the caller
+    // and the outbox get the stored state and version
+    @Override
+    @Transactional
+    public Optional<Employee> updateEmployeeFields(long id, Long expectedVersion, Employee changes) {
+        try {
+            int updatedRows = employeeRepository.updateFields(
+                    id,
+                    expectedVersion,
+                    changes.getFirstName(),
+                    changes.getLastName(),
+                    changes.getEmail()
+            );
+            if (updatedRows == 0) {
+                if (expectedVersion != null && employeeRepository.existsById(id)) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+                }
+                return Optional.empty();
+            }
+            Optional<Employee> updatedEmployee = employeeRepository.findDetachedById(id);
+            // without any field the repository only checked that the row exists, nothing changed
+            if (changes.getFirstName() == null && changes.getLastName() == null && changes.getEmail() == null) {
+                return updatedEmployee;
+            }
+            updatedEmployee.ifPresent(employee ->
+                    recordChanges(EmployeeChange.Type.UPDATED, List.of(EmployeeView.of(employee))));
+            eventPublisher.publishEvent(new EmployeeFieldsUpdatedEvent(
+                    id,
+                    changes.getFirstName(),
+                    changes.getLastName(),
+                    changes.getEmail()
+            ));
+            return updatedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new ResourceNotFoundException(
+                        "Employee already exists with given email: " + changes.getEmail(),
+                        e
+                );
+            }
+            throw e;
+        }
     }
 
     @Override
-    public void deleteEmployeeById(long id) {
-        employeeRepository.deleteById(id);
+    @Transactional
+    public int deleteEmployeeById(long id) {
+        int deleted = employeeRepository.deleteEmployeeById(id);
+        if (deleted > 0) {
+            recordDeletions(List.of(id));
+            eventPublisher.publishEvent(new EmployeesDeletedEvent(List.of(id)));
+        }
+        return deleted;
+    }
+
+    // one transaction, one DELETE ... WHERE id IN (...) per chunk so the IN list stays bounded
+    @Override
+    @Transactional
+    public int deleteEmployeesByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int chunkSize = employeeProperties.getBatch().getChunkSize();
+
+        int deleted = 0;
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            List<Long> deletedIds = employeeRepository.deleteEmployeesByIds(chunk);
+            recordDeletions(deletedIds);
+            deleted += deletedIds.size();
+        }
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EmployeesDeletedEvent(distinctIds));
+        }
+        return deleted;
+    }
+
+    @Override
+    @Transactional
+    public int deleteEmployeesByName(String firstName, String lastName) {
+        List<Long> deletedIds = employeeRepository.deleteEmployeesByName(firstName, lastName);
+        recordDeletions(deletedIds);
+        int deleted = deletedIds.size();
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new EmployeesDeletedByNameEvent(firstName, lastName));
+        }
+        return deleted;
+    }
+
+    // one duplicate query and one insert batch per chunk; index is the row position in the whole import
+    private List<EmployeeImportResult> importChunk(
+            List<Employee> chunk,
+            int offset
+    ) {
+        EmployeeImportResult[] results = new EmployeeImportResult[chunk.size()];
+
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            if (!isComplete(employee)) {
+                results[i] = EmployeeImportResult.invalid(offset + i, employee.getEmail());
+            } else if (candidates.putIfAbsent(normalizeEmail(employee.getEmail()), i) != null) {
+                results[i] = EmployeeImportResult.duplicate(offset + i, employee.getEmail());
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existingEmails = employeeRepository.findExistingEmails(candidates.keySet());
+            Set<String> normalizedExistingEmails = existingEmails.stream()
+                    .map(EmployeeServiceImpl::normalizeEmail)
+                    .collect(Collectors.toSet());
+
+            List<Integer> newRows = new ArrayList<>(candidates.size());
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                int i = candidate.getValue();
+                if (normalizedExistingEmails.contains(candidate.getKey())) {
+                    results[i] = EmployeeImportResult.duplicate(offset + i, chunk.get(i).getEmail());
+                } else {
+                    newRows.add(i);
+                }
+            }
+
+            if (!newRows.isEmpty()) {
+                try {
+                    insertEmployees(newRows.stream().map(chunk::get).toList());
+                } catch (DataIntegrityViolationException e) {
+                    if (!isDuplicateEmail(e)) {
+                        throw e;
+                    }
+                    // another writer took one of the emails since findExistingEmails; the batch
+                    // rolled back, so the rows go in one by one and only the taken ones are lost
+                    for (int i : newRows) {
+                        Employee employee = chunk.get(i);
+                        employee.setId(0);
+                        employee.setVersion(null);
+                        employee.setUpdatedAt(null);
+                        try {
+                            insertEmployees(List.of(employee));
+                        } catch (DataIntegrityViolationException rowFailure) {
+                            if (!isDuplicateEmail(rowFailure)) {
+                                throw rowFailure;
+                            }
+                            results[i] = EmployeeImportResult.duplicate(offset + i, employee.getEmail());
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+                int i = candidate.getValue();
+                if (results[i] == null) {
+                    Employee employee = chunk.get(i);
+                    results[i] = EmployeeImportResult.created(offset + i, employee.getEmail(), employee.getId());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // one transaction: the rows and their outbox entries, published once committed
+    private void insertEmployees(List<Employee> employees) {
+        List<EmployeeView> views = transactionTemplate.execute(status -> {
+            employeeRepository.batchInsert(employees);
+            List<EmployeeView> savedViews = employees.stream().map(EmployeeView::of).toList();
+            recordChanges(EmployeeChange.Type.CREATED, savedViews);
+            return savedViews;
+        });
+        eventPublisher.publishEvent(new EmployeesSavedEvent(views));
+    }
+
+    private void recordChanges(EmployeeChange.Type type, List<EmployeeView> employees) {
+        employeeChangeRepository.insertChanges(
+                employees.stream().map(employee -> EmployeeChange.of(type, employee)).toList()
+        );
+        forgetLoadsAfterCommit(employees.stream().map(EmployeeView::id).toList());
+    }
+
+    private void recordDeletions(List<Long> ids) {
+        employeeChangeRepository.insertChanges(ids.stream().map(EmployeeChange::deleted).toList());
+        forgetLoadsAfterCommit(ids);
+    }
+
+    // a caller inside a transaction reads on its own, it may need its uncommitted writes
+    // or a managed entity
+    private boolean coalesceLoads() {
+        return employeeLoadsById != null && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // once the write is visible, loads in flight since before it take no more waiters.
+    // Email loads are keyed as the callers spelled them and an update does not know the
+    // previous email, so all of them are dropped; they are only the ones running right now
+    private void forgetLoadsAfterCommit(List<Long> ids) {
+        if (employeeLoadsById == null) {
+            return;
+        }
+        Runnable forget = () -> {
+            ids.forEach(employeeLoadsById::forget);
+            employeeLoadsByEmail.forgetAll();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forget.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                forget.run();
+            }
+        });
+    }
+
+    private static Optional<Employee> copy(Optional<Employee> employee) {
+        return employee.map(value -> value.toBuilder().build());
+    }
+
+    private static PageRequest searchPage(int limit) {
+        return PageRequest.of(0, Math.max(1, Math.min(limit, MAX_SEARCH_SIZE)));
+    }
+
+    // Hibernate exposes the constraint name; plain JDBC updates only carry it in the driver message
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT)
+                    .contains(Employee.EMAIL_UNIQUE_CONSTRAINT)) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && sqlException.getMessage() != null
+                    && sqlException.getMessage().toLowerCase(Locale.ROOT)
+                    .contains(Employee.EMAIL_UNIQUE_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isComplete(Employee employee) {
+        return employee.getFirstName() != null && !employee.getFirstName().isBlank()
+                && employee.getLastName() != null && !employee.getLastName().isBlank()
+                && employee.getEmail() != null && !employee.getEmail().isBlank();
+    }
+
+    // MySQL compares emails case-insensitively with the default collation
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,98 @@
+package com.moaydogdu.springboottesting.service.impl;
+
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.repository.ReactiveEmployeeChangeRepository;
+import com.moaydogdu.springboottesting.repository.ReactiveEmployeeRepository;
+import com.moaydogdu.springboottesting.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    // the outbox, written in the same transaction as the change it records
+    private ReactiveEmployeeChangeRepository employeeChangeRepository;
+
+    private TransactionalOperator transactionalOperator;
+
+    // Constructor Injection
+    public ReactiveEmployeeServiceImpl(
+            ReactiveEmployeeRepository employeeRepository,
+            ReactiveEmployeeChangeRepository employeeChangeRepository,
+            ReactiveTransactionManager transactionManager
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    // same contract as EmployeeServiceImpl: the unique email constraint rejects duplicates.
+    // The id is reserved before the transaction, so the generator row is not locked for its length
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.reserveId()
+                .flatMap(id -> {
+                    employee.setId(id);
+                    return employeeRepository.insert(employee)
+                            .flatMap(savedEmployee -> recordChange(EmployeeChange.Type.CREATED, savedEmployee))
+                            .as(transactionalOperator::transactional);
+                })
+                .onErrorMap(
+                        ReactiveEmployeeServiceImpl::isDuplicateEmail,
+                        e -> new ResourceNotFoundException(
+                                "Employee already exists with given email: " + employee.getEmail(),
+                                e
+                        )
+                );
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAllByOrderByIdAsc();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+        return employeeRepository.save(employee)
+                .flatMap(updatedEmployee -> recordChange(EmployeeChange.Type.UPDATED, updatedEmployee))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Long> deleteEmployeeById(long id) {
+        return employeeRepository.deleteById(id)
+                .flatMap(deletedRows -> deletedRows == 0
+                        ? Mono.just(deletedRows)
+                        : employeeChangeRepository.insertChange(EmployeeChange.deleted(id)).thenReturn(deletedRows))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Employee> recordChange(EmployeeChange.Type type, Employee employee) {
+        return employeeChangeRepository.insertChange(EmployeeChange.of(type, EmployeeView.of(employee)))
+                .thenReturn(employee);
+    }
+
+    private static boolean isDuplicateEmail(Throwable e) {
+        return e instanceof DataIntegrityViolationException
+                && e.getMessage() != null
+                && e.getMessage().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_CONSTRAINT);
+    }
+}
@@ -0,0 +1,143 @@
+package com.moaydogdu.springboottesting.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Concurrent loads of the same key share one call of the loader: the first caller runs it,
+// the others wait for its result, or its exception. Nothing is kept once the load is done,
+// a failed load is simply tried again by the next caller. At most maxWaiters callers wait
+// on one load; the ones beyond that run the loader themselves, and so does a waiter whose
+// load takes longer than maxWait. Waiters get their own copy, the leader keeps the instance it loaded.
+public class SingleFlight<K, V> {
+
+    static final String REQUESTS_COUNTER = "employee.coalescing.requests";
+
+    private Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private int maxWaiters;
+
+    private Duration maxWait;
+
+    private UnaryOperator<V> copier;
+
+    private Counter leaderRequests;
+
+    private Counter coalescedRequests;
+
+    private Counter overflowRequests;
+
+    private Counter timedOutRequests;
+
+    public SingleFlight(
+            String lookup,
+            int maxWaiters,
+            Duration maxWait,
+            UnaryOperator<V> copier,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxWaiters = maxWaiters;
+        this.maxWait = maxWait;
+        this.copier = copier;
+
+        Gauge.builder("employee.coalescing.in.flight", flights, Map::size)
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+        this.leaderRequests = requests(meterRegistry, lookup, "leader");
+        this.coalescedRequests = requests(meterRegistry, lookup, "coalesced");
+        this.overflowRequests = requests(meterRegistry, lookup, "overflow");
+        this.timedOutRequests = requests(meterRegistry, lookup, "timeout");
+    }
+
+    public V load(K key, Function<K, V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> running = flights.putIfAbsent(key, flight);
+        if (running == null) {
+            leaderRequests.increment();
+            return lead(key, flight, loader);
+        }
+
+        if (running.waiters().incrementAndGet() > maxWaiters) {
+            running.waiters().decrementAndGet();
+            overflowRequests.increment();
+            return loader.apply(key);
+        }
+        coalescedRequests.increment();
+        try {
+            return copier.apply(running.result().get(maxWait.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            timedOutRequests.increment();
+            return loader.apply(key);
+        } catch (InterruptedException e) {
+            // the caller still gets an answer, it decides what the interrupt means
+            Thread.currentThread().interrupt();
+            return loader.apply(key);
+        } finally {
+            running.waiters().decrementAndGet();
+        }
+    }
+
+    // loads that already started no longer take waiters, later callers start a new one;
+    // for writes, so nobody arriving after them is answered with a value read before
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    private V lead(K key, Flight<V> flight, Function<K, V> loader) {
+        try {
+            V value = loader.apply(key);
+            // the waiters copy from a snapshot, the leader may change its instance right away
+            flight.result().complete(copier.apply(value));
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure instanceof RuntimeException exception) {
+            return exception;
+        }
+        return new CompletionException(failure);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String lookup, String result) {
+        return Counter.builder(REQUESTS_COUNTER)
+                .tag("lookup", lookup)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Flight<V>(
+            CompletableFuture<V> result,
+            AtomicInteger waiters
+    ) {
+        Flight() {
+            this(new CompletableFuture<>(), new AtomicInteger());
+        }
+    }
+}
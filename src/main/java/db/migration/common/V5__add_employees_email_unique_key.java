@@ -0,0 +1,66 @@
+package db.migration.common;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// The email check used to be a query before the INSERT, so databases of the first release
+// can hold the same email more than once. Those rows are not touched here: which one to keep
+// is a decision for whoever owns the data, so the migration stops, lists them and says how to
+// clean them up. A Java migration for that message; the ALTER is each vendor's own, online
+// DDL on MySQL (see mysql/V2). An INSERT racing the migration still makes the ALTER fail.
+public class V5__add_employees_email_unique_key extends BaseJavaMigration {
+
+    // the comparison uses the column collation, as the unique key does
+    public static final String DUPLICATE_EMAILS_QUERY = "SELECT email, COUNT(*) AS copies, MIN(id) AS first_id "
+            + "FROM employees GROUP BY email HAVING COUNT(*) > 1 ORDER BY email";
+
+    private static final int LISTED_DUPLICATES = 20;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            List<String> duplicates = findDuplicateEmails(statement);
+            if (!duplicates.isEmpty()) {
+                throw new FlywayException(
+                        "Cannot add uk_employees_email, employees holds these emails more than once: "
+                                + String.join(", ", duplicates)
+                                + ". List all of them with: " + DUPLICATE_EMAILS_QUERY + ";"
+                                + " for each email keep one row, delete the others or give them another email,"
+                                + " remove the failed version 5 entry with flyway repair if the history has one,"
+                                + " and start the application again"
+                );
+            }
+            statement.execute(addUniqueKey(connection));
+        }
+    }
+
+    private static List<String> findDuplicateEmails(Statement statement) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        statement.setMaxRows(LISTED_DUPLICATES);
+        try (ResultSet resultSet = statement.executeQuery(DUPLICATE_EMAILS_QUERY)) {
+            while (resultSet.next()) {
+                duplicates.add(resultSet.getString("email")
+                        + " (" + resultSet.getLong("copies") + " rows, first id " + resultSet.getLong("first_id") + ")");
+            }
+        }
+        statement.setMaxRows(0);
+        return duplicates;
+    }
+
+    private static String addUniqueKey(Connection connection) throws SQLException {
+        String sql = "ALTER TABLE employees ADD CONSTRAINT uk_employees_email UNIQUE (email)";
+        if ("MySQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return sql + ", ALGORITHM = INPLACE, LOCK = NONE";
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,8 @@
+-- H2 (benchmarks, local runs) counterpart of mysql/V1, in the types Hibernate's H2Dialect created
+CREATE TABLE employees (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
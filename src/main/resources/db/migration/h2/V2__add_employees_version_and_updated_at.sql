@@ -0,0 +1,4 @@
+-- see mysql/V2
+ALTER TABLE employees ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE employees ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE;
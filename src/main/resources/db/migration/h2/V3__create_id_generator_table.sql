@@ -0,0 +1,9 @@
+-- see mysql/V3
+CREATE TABLE id_generator (
+    name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generator (name, next_val)
+SELECT 'employees', COALESCE(MAX(id), 0) + 1 FROM employees;
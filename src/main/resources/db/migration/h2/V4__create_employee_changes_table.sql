@@ -0,0 +1,13 @@
+-- see mysql/V4
+CREATE TABLE employee_changes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    employee_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL CHECK (type IN ('CREATED', 'UPDATED', 'DELETED')),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255),
+    changed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_employee_changes_changed_at ON employee_changes (changed_at);
@@ -0,0 +1,4 @@
+-- H2 has no online DDL clause, see mysql/V6
+CREATE INDEX idx_employees_name ON employees (first_name, last_name);
+
+CREATE INDEX idx_employees_updated_at ON employees (updated_at, id);
@@ -0,0 +1,2 @@
+-- H2 has no online DDL clause, see mysql/V7
+CREATE INDEX idx_employees_last_name ON employees (last_name);
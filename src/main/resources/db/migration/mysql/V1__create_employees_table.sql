@@ -0,0 +1,11 @@
+-- The schema spring.jpa.hibernate.ddl-auto=update created for the first release, before
+-- the schema moved to these migrations. Databases created that way have no
+-- flyway_schema_history; they are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and continue with V2.
+CREATE TABLE employees (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
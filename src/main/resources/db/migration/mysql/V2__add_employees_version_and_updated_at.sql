@@ -0,0 +1,12 @@
+-- Optimistic lock and last modification of Employee; existing rows start at version 0 with
+-- no updated_at. The id column keeps its AUTO_INCREMENT: ids now come from id_generator (V3)
+-- and dropping the attribute would copy the table.
+-- Online DDL: the table is rebuilt while it stays readable and writable. With
+-- ALGORITHM=INPLACE, LOCK=NONE MySQL refuses the statement instead of silently copying
+-- or locking the table when it cannot run it online. Every ALTER of an existing table
+-- goes in this form
+ALTER TABLE employees
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at DATETIME(6),
+    ALGORITHM = INPLACE,
+    LOCK = NONE;
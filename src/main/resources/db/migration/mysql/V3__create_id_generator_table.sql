@@ -0,0 +1,10 @@
+-- Employee's table generator, one row per segment. The row starts past the highest id:
+-- rows inserted while ids came from AUTO_INCREMENT are invisible to the table generator
+CREATE TABLE id_generator (
+    name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generator (name, next_val)
+SELECT 'employees', COALESCE(MAX(id), 0) + 1 FROM employees;
@@ -0,0 +1,12 @@
+-- change feed outbox, see EmployeeChange
+CREATE TABLE employee_changes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    type ENUM ('CREATED', 'DELETED', 'UPDATED') NOT NULL,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    email VARCHAR(255),
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_employee_changes_changed_at (changed_at)
+) ENGINE = InnoDB;
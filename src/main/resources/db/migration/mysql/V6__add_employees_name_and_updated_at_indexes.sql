@@ -0,0 +1,6 @@
+-- name lookups and the updated_at export scans; online DDL, see V2
+ALTER TABLE employees
+    ADD INDEX idx_employees_name (first_name, last_name),
+    ADD INDEX idx_employees_updated_at (updated_at, id),
+    ALGORITHM = INPLACE,
+    LOCK = NONE;
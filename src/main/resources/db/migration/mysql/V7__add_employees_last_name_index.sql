@@ -0,0 +1,5 @@
+-- last name filters and sorts of GET /api/employees; online DDL, see V2
+ALTER TABLE employees
+    ADD INDEX idx_employees_last_name (last_name),
+    ALGORITHM = INPLACE,
+    LOCK = NONE;
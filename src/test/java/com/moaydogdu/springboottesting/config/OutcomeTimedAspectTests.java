@@ -0,0 +1,114 @@
+package com.moaydogdu.springboottesting.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A timed decorator over a timed delegate, the shape of CachingEmployeeService and EmployeeServiceImpl.
+public class OutcomeTimedAspectTests {
+
+    private MeterRegistry meterRegistry;
+
+    private Lookup lookup;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        OutcomeTimedAspect aspect = new OutcomeTimedAspect(meterRegistry);
+        Lookup delegate = proxy(new Lookup(), aspect);
+        lookup = proxy(new CachingLookup(delegate), aspect);
+    }
+
+    @DisplayName("JUnit Test : a call through the decorator is timed once, on the decorator")
+    @Test
+    public void givenTimedDelegate_whenCallDecorator_thenRecordOuterCallOnly() {
+        // when
+        lookup.email(1L);
+
+        // then
+        assertThat(meterRegistry.find("employee.test").timers()).hasSize(1);
+        assertThat(meterRegistry.get("employee.test")
+                .tag("class", CachingLookup.class.getName())
+                .tag(OutcomeTimedAspect.OUTCOME_TAG, "SUCCESS")
+                .tag("exception", "none")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit Test : an empty Optional is recorded as NOT_FOUND")
+    @Test
+    public void givenUnknownId_whenCall_thenRecordNotFoundOutcome() {
+        // when
+        lookup.email(-1L);
+
+        // then
+        assertThat(meterRegistry.get("employee.test")
+                .tag(OutcomeTimedAspect.OUTCOME_TAG, "NOT_FOUND")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit Test : rejected input is recorded as CLIENT_ERROR with the exception")
+    @Test
+    public void givenInvalidId_whenCall_thenRecordClientErrorOutcome() {
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> lookup.email(0L)
+        );
+
+        // then
+        assertThat(meterRegistry.get("employee.test")
+                .tag(OutcomeTimedAspect.OUTCOME_TAG, "CLIENT_ERROR")
+                .tag("exception", "IllegalArgumentException")
+                .timer()
+                .count()).isEqualTo(1);
+        // the next call is timed again
+        lookup.email(1L);
+        assertThat(meterRegistry.get("employee.test")
+                .tag(OutcomeTimedAspect.OUTCOME_TAG, "SUCCESS")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    private static Lookup proxy(Lookup target, OutcomeTimedAspect aspect) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(aspect);
+        return proxyFactory.getProxy();
+    }
+
+    @Timed("employee.test")
+    public static class Lookup {
+
+        public Optional<String> email(long id) {
+            if (id == 0) {
+                throw new IllegalArgumentException("id");
+            }
+            return id < 0 ? Optional.empty() : Optional.of("employee" + id + "@test.com");
+        }
+    }
+
+    @Timed("employee.test")
+    public static class CachingLookup extends Lookup {
+
+        private Lookup delegate;
+
+        public CachingLookup(Lookup delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<String> email(long id) {
+            return delegate.email(id);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.moaydogdu.springboottesting.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A primary and a replica H2 database, each knowing its own name, behind the filter.
+public class ReadYourWritesFilterTests {
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private ReadYourWritesFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        primary = database("primary");
+        replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(
+                primary,
+                List.of(replica),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(1),
+                new SimpleMeterRegistry()
+        );
+        filter = new ReadYourWritesFilter(routingDataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (DataSource dataSource : List.of(primary, replica)) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @DisplayName("JUnit Test : a write hands the client the read-your-writes cookie")
+    @Test
+    public void givenWrite_whenRequest_thenSetCookie() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        request(new MockHttpServletRequest(), response, false);
+
+        // then
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(cookie.getMaxAge()).isEqualTo(60);
+    }
+
+    @DisplayName("JUnit Test : a client sending the cookie back reads from the primary")
+    @Test
+    public void givenCookie_whenReadOnlyRequest_thenUsePrimary() throws Exception {
+        // given
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        request(new MockHttpServletRequest(), writeResponse, false);
+        MockHttpServletRequest readRequest = new MockHttpServletRequest();
+        readRequest.setCookies(writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+
+        // when
+        String node = request(readRequest, new MockHttpServletResponse(), true);
+
+        // then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @DisplayName("JUnit Test : a client without the cookie reads from the replica after another client's write")
+    @Test
+    public void givenOtherClientWrote_whenReadOnlyRequest_thenUseReplica() throws Exception {
+        // given
+        request(new MockHttpServletRequest(), new MockHttpServletResponse(), false);
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String node = request(new MockHttpServletRequest(), response, true);
+
+        // then
+        assertThat(node).isEqualTo("replica");
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+    }
+
+    @DisplayName("JUnit Test : a cookie beyond the window does not pin reads for longer")
+    @Test
+    public void givenForgedCookie_whenRequest_thenCapAtWindow() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        request(request, response, false);
+
+        // then
+        long until = Long.parseLong(response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue());
+        assertThat(until).isLessThanOrEqualTo(System.currentTimeMillis() + Duration.ofMinutes(1).toMillis());
+    }
+
+    private String request(
+            MockHttpServletRequest request,
+            MockHttpServletResponse response,
+            boolean readOnly
+    ) throws Exception {
+        AtomicReference<String> node = new AtomicReference<>();
+        filter.doFilter(request, response, (filteredRequest, filteredResponse) -> {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(
+                    new DataSourceTransactionManager(dataSource)
+            );
+            transactionTemplate.setReadOnly(readOnly);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            node.set(transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT name FROM node", String.class)
+            ));
+        });
+        return node.get();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:rw" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,265 @@
+package com.moaydogdu.springboottesting.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two or three embedded H2 databases, each knowing its own name.
+public class ReplicaRoutingDataSourceTests {
+
+    private DataSource primary;
+
+    private DataSource replica1;
+
+    private DataSource replica2;
+
+    private MeterRegistry meterRegistry;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    public void setup() {
+        primary = database("primary");
+        replica1 = database("replica1");
+        replica2 = database("replica2");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (DataSource dataSource : List.of(primary, replica1, replica2)) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @DisplayName("JUnit Test : read-only transactions go to the replica")
+    @Test
+    public void givenReadOnlyTransaction_whenQuery_thenUseReplica() {
+        // given
+        routing(List.of(replica1), Duration.ofMinutes(1));
+
+        // when
+        String node = node(true);
+
+        // then
+        assertThat(node).isEqualTo("replica1");
+        assertThat(routes("replica")).isEqualTo(1.0);
+    }
+
+    @DisplayName("JUnit Test : read-write transactions go to the primary")
+    @Test
+    public void givenReadWriteTransaction_whenQuery_thenUsePrimary() {
+        // given
+        routing(List.of(replica1), Duration.ZERO);
+
+        // when
+        String node = node(false);
+
+        // then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @DisplayName("JUnit Test : a client's reads right after its write stay on the primary")
+    @Test
+    public void givenRecentWrite_whenReadOnlyQuery_thenUsePrimary() {
+        // given
+        routing(List.of(replica1), Duration.ofMinutes(1));
+        TestClient client = new TestClient();
+        node(client, false);
+
+        // when
+        String node = node(client, true);
+
+        // then
+        assertThat(node).isEqualTo("primary");
+        assertThat(client.primaryReadsUntil()).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @DisplayName("JUnit Test : a write does not pin the reads of other clients")
+    @Test
+    public void givenWriteByOtherClient_whenReadOnlyQuery_thenUseReplica() {
+        // given
+        routing(List.of(replica1), Duration.ofMinutes(1));
+        node(new TestClient(), false);
+
+        // when
+        String node = node(new TestClient(), true);
+
+        // then
+        assertThat(node).isEqualTo("replica1");
+    }
+
+    @DisplayName("JUnit Test : writes outside a request pin nobody's reads")
+    @Test
+    public void givenWriteWithoutClient_whenReadOnlyQuery_thenUseReplica() {
+        // given
+        routing(List.of(replica1), Duration.ofMinutes(1));
+        node(false);
+
+        // when
+        String node = node(true);
+
+        // then
+        assertThat(node).isEqualTo("replica1");
+    }
+
+    @DisplayName("JUnit Test : without a read-your-writes window reads go back to the replica")
+    @Test
+    public void givenNoWindow_whenReadOnlyQueryAfterWrite_thenUseReplica() {
+        // given
+        routing(List.of(replica1), Duration.ZERO);
+        TestClient client = new TestClient();
+        node(client, false);
+
+        // when
+        String node = node(client, true);
+
+        // then
+        assertThat(node).isEqualTo("replica1");
+    }
+
+    @DisplayName("JUnit Test : read-only transactions are spread over the replicas")
+    @Test
+    public void givenTwoReplicas_whenReadOnlyQueries_thenRoundRobin() {
+        // given
+        routing(List.of(replica1, replica2), Duration.ZERO);
+
+        // when
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(node(true));
+        }
+
+        // then
+        assertThat(nodes).containsExactly("replica1", "replica2", "replica1", "replica2");
+    }
+
+    @DisplayName("JUnit Test : a replica that is down is skipped and reads fall back to the primary")
+    @Test
+    public void givenReplicaDown_whenReadOnlyQuery_thenFallBackToPrimary() {
+        // given
+        DataSource downReplica = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        routing(List.of(downReplica), Duration.ZERO);
+
+        // when
+        String first = node(true);
+        String second = node(true);
+
+        // then
+        assertThat(first).isEqualTo("primary");
+        assertThat(second).isEqualTo("primary");
+        assertThat(routes("fallback")).isEqualTo(2.0);
+    }
+
+    @DisplayName("JUnit Test : a replica that is down does not take reads from the healthy ones")
+    @Test
+    public void givenOneReplicaDown_whenReadOnlyQueries_thenUseHealthyReplica() {
+        // given
+        DataSource downReplica = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        routing(List.of(downReplica, replica2), Duration.ZERO);
+
+        // when
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(node(true));
+        }
+
+        // then
+        assertThat(nodes).containsOnly("replica2");
+        assertThat(routes("fallback")).isEqualTo(0.0);
+    }
+
+    @DisplayName("JUnit Test : connections with explicit credentials come from the primary")
+    @Test
+    public void givenCredentials_whenGetConnection_thenUsePrimary() throws Exception {
+        // given
+        routing(List.of(replica1), Duration.ZERO);
+
+        // when
+        String node;
+        try (Connection connection = routingDataSource.getConnection("sa", "")) {
+            node = new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM node", String.class);
+        }
+
+        // then
+        assertThat(node).isEqualTo("primary");
+        assertThat(routes("primary")).isEqualTo(1.0);
+    }
+
+    private void routing(List<DataSource> replicas, Duration readYourWritesWindow) {
+        routingDataSource = new ReplicaRoutingDataSource(
+                primary,
+                replicas,
+                readYourWritesWindow,
+                Duration.ofMinutes(1),
+                meterRegistry
+        );
+    }
+
+    private String node(ReplicaRoutingDataSource.Client client, boolean readOnly) {
+        routingDataSource.bindClient(client);
+        try {
+            return node(readOnly);
+        } finally {
+            routingDataSource.unbindClient();
+        }
+    }
+
+    private String node(boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(dataSource)
+        );
+        transactionTemplate.setReadOnly(readOnly);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM node", String.class)
+        );
+    }
+
+    private double routes(String target) {
+        return meterRegistry.get("employee.datasource.routes").tag("target", target).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class TestClient implements ReplicaRoutingDataSource.Client {
+
+        private long primaryReadsUntil;
+
+        @Override
+        public long primaryReadsUntil() {
+            return primaryReadsUntil;
+        }
+
+        @Override
+        public void pinReadsToPrimary(long until) {
+            primaryReadsUntil = until;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.moaydogdu.springboottesting.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs on the default build, which does not compile VirtualThreadsConfig
+public class VirtualThreadsRequirementConfigTests {
+
+    private ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsRequirementConfig.class);
+
+    @DisplayName("JUnit Test : virtual threads requested without the virtual-threads build")
+    @Test
+    public void givenVirtualThreadsEnabled_whenStartWithoutVirtualThreadsBuild_thenFail() {
+
+        // given - precondition or setup
+        ApplicationContextRunner runner = contextRunner.withPropertyValues("employee.threads.virtual=true");
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        runner.run(context -> assertThat(context.getStartupFailure())
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("virtual-threads profile"));
+    }
+
+    @DisplayName("JUnit Test : platform threads need no virtual-threads build")
+    @Test
+    public void givenVirtualThreadsDisabled_whenStart_thenStart() {
+
+        // given - precondition or setup
+        ApplicationContextRunner runner = contextRunner.withPropertyValues("employee.threads.virtual=false");
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        runner.run(context -> assertThat(context)
+                .hasNotFailed()
+                .doesNotHaveBean(VirtualThreadsRequirementConfig.class));
+    }
+}
@@ -0,0 +1,161 @@
+package com.moaydogdu.springboottesting.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moaydogdu.springboottesting.model.dto.EmployeeIngestStatus;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.service.EmployeeIngestService;
+import com.moaydogdu.springboottesting.service.EmployeeChangeService;
+import com.moaydogdu.springboottesting.service.EmployeeService;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /api/employees with employee.ingest.enabled, i.e. an EmployeeIngestService bean
+@WebMvcTest
+public class EmployeeControllerAsyncIngestTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private EmployeeChangeService employeeChangeService;
+
+    @MockBean
+    private EmployeeIngestService employeeIngestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+    }
+
+    // JUnit test for create employee REST API -> queued
+    @SneakyThrows
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnAcceptedWithTrackingId() {
+        // given
+        given(employeeIngestService.submit(any(Employee.class)))
+                .willReturn(Optional.of(EmployeeIngestStatus.queued("tracking-1")));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then
+        response.andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/ingest/tracking-1"))
+                .andExpect(jsonPath("$.trackingId", is("tracking-1")))
+                .andExpect(jsonPath("$.status", is("QUEUED")))
+                .andDo(print());
+        verify(employeeService, Mockito.never()).saveEmployee(any(Employee.class));
+    }
+
+    // JUnit test for create employee REST API -> queue full
+    @SneakyThrows
+    @Test
+    public void givenFullQueue_whenCreateEmployee_thenReturn429() {
+        // given
+        given(employeeIngestService.submit(any(Employee.class)))
+                .willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then
+        response.andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andDo(print());
+    }
+
+    // JUnit test for create employee REST API -> incomplete body is not queued
+    @SneakyThrows
+    @Test
+    public void givenIncompleteEmployee_whenCreateEmployee_thenReturn400() {
+        // given
+        employee.setEmail(null);
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeIngestService, Mockito.never()).submit(any(Employee.class));
+    }
+
+    // JUnit test for ingest status REST API
+    @SneakyThrows
+    @Test
+    public void givenTrackingId_whenGetIngestStatus_thenReturnStatus() {
+        // given
+        given(employeeIngestService.getStatus("tracking-1"))
+                .willReturn(Optional.of(new EmployeeIngestStatus(
+                        "tracking-1",
+                        EmployeeIngestStatus.Status.CREATED,
+                        42L,
+                        null
+                )));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees/ingest/{trackingId}", "tracking-1"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CREATED")))
+                .andExpect(jsonPath("$.id", is(42)))
+                .andDo(print());
+    }
+
+    // JUnit test for ingest status REST API -> unknown or expired tracking id
+    @SneakyThrows
+    @Test
+    public void givenUnknownTrackingId_whenGetIngestStatus_thenReturn404() {
+        // given
+        given(employeeIngestService.getStatus("unknown"))
+                .willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees/ingest/{trackingId}", "unknown"));
+
+        // then
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+}
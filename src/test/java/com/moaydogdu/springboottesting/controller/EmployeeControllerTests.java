@@ -1,7 +1,17 @@
 package com.moaydogdu.springboottesting.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeePage;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeName;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.service.EmployeeChangeService;
 import com.moaydogdu.springboottesting.service.EmployeeService;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
@@ -10,23 +20,39 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -39,6 +65,9 @@ public class EmployeeControllerTests {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeChangeService employeeChangeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -99,7 +128,9 @@ public class EmployeeControllerTests {
                         .build()
         );
 
-        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        given(employeeService.getEmployeeViewsAfter(0L, 0)).willReturn(
+                listOfEmployees.stream().map(EmployeeView::of).toList()
+        );
 
         // when
         ResultActions response = mockMvc.perform(get("/api/employees"));
@@ -114,6 +145,91 @@ public class EmployeeControllerTests {
                 .andDo(print());
     }
 
+    // JUnit test for GET employees with filters REST API
+    @SneakyThrows
+    @Test
+    public void givenFilterAndSort_whenGetAllEmployees_thenReturnEmployeePage() {
+        // given
+        EmployeeView employee = new EmployeeView(3L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com");
+        EmployeeQuery query = new EmployeeQuery(
+                null, "AYDOĞDU", "enbsoftware.com", null, null,
+                Sort.by(Sort.Order.desc("id")), 0, 10, false
+        );
+        given(employeeService.findEmployees(query))
+                .willReturn(new EmployeePage(List.of(employee), 0, 10, false, null, "idx_employees_last_name"));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("lastName", "AYDOĞDU")
+                .param("emailDomain", "enbsoftware.com")
+                .param("sort", "-id")
+                .param("size", "10"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees[0].email", is(employee.email())))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.total", nullValue()))
+                .andExpect(jsonPath("$.index", is("idx_employees_last_name")));
+    }
+
+    // JUnit test for GET employees with filters REST API -> Negative Scenario
+    @SneakyThrows
+    @Test
+    public void givenUnindexedFilter_whenGetAllEmployees_thenReturnBadRequest() {
+        // given
+        given(employeeService.findEmployees(any(EmployeeQuery.class)))
+                .willThrow(new IllegalArgumentException("No index serves this filter and sort"));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("emailDomain", "enbsoftware.com"));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    // JUnit test for GET employees by ids REST API
+    @SneakyThrows
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds() {
+        // given
+        EmployeeView employee = new EmployeeView(3L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com");
+        given(employeeService.getEmployeesByIds(List.of(3L, 2L)))
+                .willReturn(new EmployeeLookupResult(List.of(employee), List.of(2L)));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("ids", "3,2"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees.size()", is(1)))
+                .andExpect(jsonPath("$.employees[0].email", is(employee.email())))
+                .andExpect(jsonPath("$.missingIds[0]", is(2)));
+    }
+
+    // JUnit test for POST employees lookup REST API -> Negative Scenario
+    @SneakyThrows
+    @Test
+    public void givenTooManyEmployeeIds_whenLookupEmployees_thenReturnBadRequest() {
+        // given
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L, 3L)))
+                .willThrow(new IllegalArgumentException("At most 2 ids per lookup, got 3"));
+
+        // when
+        ResultActions response = mockMvc.perform(post("/api/employees/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2,3]"));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
     // positive scenario - valid employee id
     // JUnit test for GET employee by id from REST API
     @SneakyThrows
@@ -165,26 +281,18 @@ public class EmployeeControllerTests {
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() {
         // Given
         final long employeeId = 1L;
-        Employee employeeFromDb = Employee.builder()
-                .firstName("Muhammet Oğuzhan")
-                .lastName("AYDOĞDU")
-                .email("moaydogdu@enbsoftware.com")
-                .build();
-
         Employee updatedEmployee = Employee.builder()
                 .firstName("Muhammet Oğuzhan")
                 .lastName("AYDOĞDU")
                 .email("m.o.aydogdu@outlook.com")
                 .build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId))
-                .willReturn(Optional.of(employeeFromDb));
-
-        BDDMockito.given(employeeService.updateEmployee(Mockito.any(Employee.class)))
-                .willAnswer(
-                        (invocationOnMock) ->
-                                invocationOnMock.getArgument(0)
-                );
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.isNull(),
+                        Mockito.any(Employee.class)
+                ))
+                .willReturn(Optional.of(updatedEmployee.toBuilder().id(employeeId).version(4L).build()));
 
         // When
         ResultActions response = mockMvc.perform(
@@ -207,6 +315,9 @@ public class EmployeeControllerTests {
                 .andExpect(
                         jsonPath("$.email",is(updatedEmployee.getEmail()))
                 )
+                .andExpect(
+                        header().string(HttpHeaders.ETAG, "\"4\"")
+                )
                 .andDo(print());
     }
 
@@ -224,7 +335,11 @@ public class EmployeeControllerTests {
                 .email("m.o.aydogdu@outlook.com")
                 .build();
 
-        BDDMockito.given(employeeService.getEmployeeById(employeeId))
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.isNull(),
+                        Mockito.any(Employee.class)
+                ))
                 .willReturn(Optional.empty());
 
         // When
@@ -249,9 +364,8 @@ public class EmployeeControllerTests {
         // Given
         final long employeeId = 1L;
 
-        BDDMockito.willDoNothing()
-                .given(employeeService)
-                .deleteEmployeeById(employeeId);
+        BDDMockito.given(employeeService.deleteEmployeeById(employeeId))
+                .willReturn(1);
 
         // When
         ResultActions response = mockMvc.perform(
@@ -267,4 +381,697 @@ public class EmployeeControllerTests {
                 .andDo(print());
     }
 
+    // JUnit test for keyset paginated employees REST API
+    @SneakyThrows
+    @Test
+    public void givenAfterAndLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() {
+        // given
+        List<Employee> page = List.of(
+                Employee.builder()
+                        .id(11L)
+                        .firstName("Muhammet Oğuzhan")
+                        .lastName("AYDOĞDU")
+                        .email("moaydogdu@enbsoftware.com")
+                        .build(),
+                Employee.builder()
+                        .id(12L)
+                        .firstName("Nurettin")
+                        .lastName("BAŞTÜRK")
+                        .email("nurettinbasturk@enbsoftware.com")
+                        .build()
+        );
+
+        given(employeeService.getEmployeesAfter(10L, 2)).willReturn(page);
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees")
+                        .param("after", "10")
+                        .param("limit", "2")
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(header().string(EmployeeController.NEXT_AFTER_HEADER, "12"))
+                .andDo(print());
+    }
+
+    // JUnit test for streaming employees REST API
+    @SneakyThrows
+    @Test
+    public void givenEmployees_whenStreamAllEmployees_thenWriteJsonArray() {
+        // given
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+
+        BDDMockito.willAnswer(invocation -> {
+                    Consumer<Employee> consumer = invocation.getArgument(0);
+                    consumer.accept(employee);
+                    consumer.accept(employee);
+                    return null;
+                })
+                .given(employeeService)
+                .streamAllEmployees(any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/employees").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())))
+                .andDo(print());
+    }
+
+    // JUnit test for bulk employee import REST API
+    @SneakyThrows
+    @Test
+    public void givenNdjsonRows_whenCreateEmployees_thenReturnResultPerRow() {
+        // given
+        String body = """
+                {"firstName":"Muhammet Oğuzhan","lastName":"AYDOĞDU","email":"moaydogdu@enbsoftware.com"}
+                {"firstName":"Nurettin","lastName":"BAŞTÜRK","email":"nurettinbasturk@enbsoftware.com"}
+                """;
+
+        given(employeeService.saveEmployees(any()))
+                .willAnswer(invocation -> {
+                    Iterator<Employee> employees = invocation.getArgument(0);
+                    List<EmployeeImportResult> results = new ArrayList<>();
+                    while (employees.hasNext()) {
+                        Employee employee = employees.next();
+                        results.add(EmployeeImportResult.created(results.size(), employee.getEmail(), results.size() + 1));
+                    }
+                    return results;
+                });
+
+        // when
+        ResultActions response = mockMvc.perform(
+                post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body)
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is("nurettinbasturk@enbsoftware.com")))
+                .andExpect(jsonPath("$[1].status", is("CREATED")))
+                .andDo(print());
+    }
+
+    // JUnit test for bulk employee import REST API with a JSON array body
+    @SneakyThrows
+    @Test
+    public void givenJsonArray_whenCreateEmployees_thenReadEveryElement() {
+        // given
+        List<Employee> employees = List.of(
+                Employee.builder()
+                        .firstName("Muhammet Oğuzhan")
+                        .lastName("AYDOĞDU")
+                        .email("moaydogdu@enbsoftware.com")
+                        .build(),
+                Employee.builder()
+                        .firstName("Nurettin")
+                        .lastName("BAŞTÜRK")
+                        .email("nurettinbasturk@enbsoftware.com")
+                        .build()
+        );
+
+        given(employeeService.saveEmployees(any()))
+                .willAnswer(invocation -> {
+                    Iterator<Employee> rows = invocation.getArgument(0);
+                    List<EmployeeImportResult> results = new ArrayList<>();
+                    rows.forEachRemaining(employee -> results.add(
+                            EmployeeImportResult.duplicate(results.size(), employee.getEmail())
+                    ));
+                    return results;
+                });
+
+        // when
+        ResultActions response = mockMvc.perform(
+                post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employees))
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].status", is("DUPLICATE")))
+                .andDo(print());
+    }
+
+    // JUnit test for search employees by name REST API
+    @SneakyThrows
+    @Test
+    public void givenFirstNameAndLastName_whenSearchEmployeesByName_thenReturnEmployeeList() {
+        // given
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+
+        given(employeeService.searchEmployeesByName("Muhammet Oğuzhan", "AYDOĞDU", 20))
+                .willReturn(List.of(employee));
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/search")
+                        .param("firstName", "Muhammet Oğuzhan")
+                        .param("lastName", "AYDOĞDU")
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())))
+                .andDo(print());
+    }
+
+    // JUnit test for search employee names REST API
+    @SneakyThrows
+    @Test
+    public void givenNameView_whenSearchEmployeesByName_thenReturnOnlyNames() {
+        // given
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+        EmployeeNameView nameView = new SpelAwareProxyProjectionFactory()
+                .createProjection(EmployeeNameView.class, employee);
+
+        given(employeeService.searchEmployeeNamesByName("Muhammet Oğuzhan", "AYDOĞDU", 5))
+                .willReturn(List.of(nameView));
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/search")
+                        .param("firstName", "Muhammet Oğuzhan")
+                        .param("lastName", "AYDOĞDU")
+                        .param("view", "name")
+                        .param("limit", "5")
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].lastName", is(employee.getLastName())))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andDo(print());
+    }
+
+    // JUnit test for patch employee REST API -> Positive Scenario
+    @SneakyThrows
+    @Test
+    public void givenPartialEmployee_whenPatchEmployee_thenReturn204() {
+        // Given
+        final long employeeId = 1L;
+
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.isNull(),
+                        Mockito.any(Employee.class)
+                ))
+                .willReturn(Optional.of(Employee.builder().id(employeeId).version(4L).build()));
+
+        // When
+        ResultActions response = mockMvc.perform(
+                patch("/api/employees/{id}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"m.o.aydogdu@outlook.com\"}")
+        );
+
+        // Then
+        response.andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andDo(print());
+        Mockito.verify(employeeService).updateEmployeeFields(
+                Mockito.eq(employeeId),
+                Mockito.isNull(),
+                Mockito.argThat(changes -> changes.getFirstName() == null
+                        && changes.getLastName() == null
+                        && "m.o.aydogdu@outlook.com".equals(changes.getEmail()))
+        );
+        Mockito.verify(employeeService, Mockito.never()).getEmployeeById(employeeId);
+    }
+
+    // JUnit test for patch employee REST API -> empty body
+    @SneakyThrows
+    @Test
+    public void givenNoFields_whenPatchEmployee_thenReturn400() {
+        // Given
+        final long employeeId = 1L;
+
+        // When
+        ResultActions response = mockMvc.perform(
+                patch("/api/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}")
+        );
+
+        // Then
+        response.andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andDo(print());
+        Mockito.verify(employeeService, Mockito.never())
+                .updateEmployeeFields(Mockito.anyLong(), Mockito.any(), Mockito.any());
+    }
+
+    // JUnit test for patch employee REST API -> Negative Scenario
+    @SneakyThrows
+    @Test
+    public void givenPartialEmployee_whenPatchEmployee_thenReturn404() {
+        // Given
+        final long employeeId = 1L;
+
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.isNull(),
+                        Mockito.any(Employee.class)
+                ))
+                .willReturn(Optional.empty());
+
+        // When
+        ResultActions response = mockMvc.perform(
+                patch("/api/employees/{id}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"m.o.aydogdu@outlook.com\"}")
+        );
+
+        // Then
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    // JUnit test for conditional GET employee by id REST API
+    @SneakyThrows
+    @Test
+    public void givenMatchingETag_whenGetEmployeeById_thenReturn304WithoutLoadingEmployee() {
+        // given
+        final long employeeId = 1L;
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(3L));
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+        );
+
+        // then
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andDo(print());
+        Mockito.verify(employeeService, Mockito.never()).getEmployeeById(employeeId);
+    }
+
+    // JUnit test for GET employee by id REST API exposing the version as ETag
+    @SneakyThrows
+    @Test
+    public void givenStaleETag_whenGetEmployeeById_thenReturnEmployeeWithETag() {
+        // given
+        final long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .version(4L)
+                .build();
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(4L));
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andDo(print());
+    }
+
+    // JUnit test for patch employee REST API -> stale If-Match
+    @SneakyThrows
+    @Test
+    public void givenStaleIfMatch_whenPatchEmployee_thenReturn412() {
+        // Given
+        final long employeeId = 1L;
+
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.eq(3L),
+                        Mockito.any(Employee.class)
+                ))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+
+        // When
+        ResultActions response = mockMvc.perform(
+                patch("/api/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"m.o.aydogdu@outlook.com\"}")
+        );
+
+        // Then
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    // JUnit test for patch employee REST API -> matching If-Match
+    @SneakyThrows
+    @Test
+    public void givenCurrentIfMatch_whenPatchEmployee_thenReturnNextETag() {
+        // Given
+        final long employeeId = 1L;
+
+        BDDMockito.given(employeeService.updateEmployeeFields(
+                        Mockito.eq(employeeId),
+                        Mockito.eq(3L),
+                        Mockito.any(Employee.class)
+                ))
+                .willReturn(Optional.of(Employee.builder().id(employeeId).version(4L).build()));
+
+        // When
+        ResultActions response = mockMvc.perform(
+                patch("/api/employees/{id}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"m.o.aydogdu@outlook.com\"}")
+        );
+
+        // Then
+        response.andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andDo(print());
+    }
+
+    // JUnit test for delete employee REST API -> Negative Scenario
+    @SneakyThrows
+    @Test
+    public void givenUnknownEmployeeId_whenDeleteEmployee_thenReturn404() {
+        // Given
+        final long employeeId = 1L;
+
+        BDDMockito.given(employeeService.deleteEmployeeById(employeeId))
+                .willReturn(0);
+
+        // When
+        ResultActions response = mockMvc.perform(
+                delete("/api/employees/{id}", employeeId)
+        );
+
+        // Then
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    // JUnit test for bulk delete employees REST API
+    @SneakyThrows
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() {
+        // Given
+        BDDMockito.given(employeeService.deleteEmployeesByIds(List.of(1L, 2L, 3L)))
+                .willReturn(2);
+
+        // When
+        ResultActions response = mockMvc.perform(
+                delete("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2,3]")
+        );
+
+        // Then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)))
+                .andDo(print());
+    }
+
+    // JUnit test for GET all employees as projected views
+    @SneakyThrows
+    @Test
+    public void givenEmployeeViews_whenGetAllEmployees_thenWriteAllFieldsButVersion() {
+        // given
+        given(employeeService.getEmployeeViewsAfter(0L, 0)).willReturn(List.of(
+                new EmployeeView(1L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com"),
+                new EmployeeView(2L, "Nurettin", "BAŞTÜRK", null)
+        ));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Muhammet Oğuzhan")))
+                .andExpect(jsonPath("$[0].lastName", is("AYDOĞDU")))
+                .andExpect(jsonPath("$[0].email", is("moaydogdu@enbsoftware.com")))
+                .andExpect(jsonPath("$[0].version").doesNotExist())
+                .andExpect(jsonPath("$[1].email").value(nullValue()))
+                .andExpect(header().string(EmployeeController.NEXT_AFTER_HEADER, "2"))
+                .andDo(print());
+    }
+
+    // JUnit test for GET next default page of employees
+    @SneakyThrows
+    @Test
+    public void givenAfter_whenGetAllEmployees_thenReturnNextKeysetPage() {
+        // given
+        given(employeeService.getEmployeeViewsAfter(2L, 0)).willReturn(List.of(
+                new EmployeeView(3L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com")
+        ));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees").param("after", "2"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(header().string(EmployeeController.NEXT_AFTER_HEADER, "3"))
+                .andDo(print());
+        Mockito.verify(employeeService, Mockito.never()).findEmployees(any());
+    }
+
+    // JUnit test for GET all employee names
+    @SneakyThrows
+    @Test
+    public void givenEmployeeNames_whenGetAllEmployeesWithNameView_thenReturnIdAndNamesOnly() {
+        // given
+        given(employeeService.getAllEmployeeNames()).willReturn(List.of(
+                new EmployeeName(1L, "Muhammet Oğuzhan", "AYDOĞDU")
+        ));
+
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees").param("view", "name"));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("Muhammet Oğuzhan")))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andDo(print());
+    }
+
+    // JUnit test for the NDJSON export REST API
+    @SneakyThrows
+    @Test
+    public void givenRows_whenExportEmployees_thenWriteOneJsonObjectPerLine() {
+        // given
+        Instant updatedAt = Instant.parse("2023-10-01T10:15:30.123456Z");
+        BDDMockito.willAnswer(invocation -> {
+                    Consumer<EmployeeExportRow> consumer = invocation.getArgument(2);
+                    consumer.accept(new EmployeeExportRow(1L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com", updatedAt));
+                    consumer.accept(new EmployeeExportRow(2L, "Nurettin", "BAŞTÜRK", "nurettinbasturk@enbsoftware.com", null));
+                    return null;
+                })
+                .given(employeeService)
+                .exportEmployees(Mockito.eq(updatedAt), Mockito.eq(7L), any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(
+                        get("/api/employees/export")
+                                .param("since", updatedAt.toString())
+                                .param("after", "7")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                // NDJSON carries no charset parameter, it is always UTF-8
+                .andExpect(content().bytes((
+                        "{\"id\":1,\"firstName\":\"Muhammet Oğuzhan\",\"lastName\":\"AYDOĞDU\"," +
+                                "\"email\":\"moaydogdu@enbsoftware.com\",\"updatedAt\":\"2023-10-01T10:15:30.123456Z\"}\n" +
+                                "{\"id\":2,\"firstName\":\"Nurettin\",\"lastName\":\"BAŞTÜRK\"," +
+                                "\"email\":\"nurettinbasturk@enbsoftware.com\",\"updatedAt\":null}\n"
+                ).getBytes(StandardCharsets.UTF_8)))
+                .andDo(print());
+    }
+
+    // JUnit test for the change feed REST API
+    @SneakyThrows
+    @Test
+    public void givenChanges_whenGetChanges_thenReturnChangesAndNextSince() {
+        // given
+        EmployeeChange created = EmployeeChange.builder()
+                .id(41L)
+                .employeeId(7L)
+                .type(EmployeeChange.Type.CREATED)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .changedAt(Instant.parse("2023-10-01T10:15:30Z"))
+                .build();
+        given(employeeChangeService.getChanges(40L, 100))
+                .willReturn(CompletableFuture.completedFuture(List.of(created, EmployeeChange.deleted(7L).toBuilder().id(42L).build())));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/employees/changes").param("since", "40"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_SINCE_HEADER, "42"))
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].type", is("CREATED")))
+                .andExpect(jsonPath("$[0].email", is(created.getEmail())))
+                .andExpect(jsonPath("$[1].type", is("DELETED")))
+                .andDo(print());
+    }
+
+    // JUnit test for the change feed REST API -> nothing new before the long poll timed out
+    @SneakyThrows
+    @Test
+    public void givenNoChanges_whenGetChanges_thenReturnEmptyListAndSameSince() {
+        // given
+        given(employeeChangeService.getChanges(42L, 10))
+                .willReturn(CompletableFuture.completedFuture(List.of()));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(
+                        get("/api/employees/changes")
+                                .param("since", "42")
+                                .param("limit", "10")
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_SINCE_HEADER, "42"))
+                .andExpect(jsonPath("$.size()", is(0)))
+                .andDo(print());
+    }
+
+    // JUnit test for the CSV export REST API
+    @SneakyThrows
+    @Test
+    public void givenRows_whenExportEmployeesAsCsv_thenWriteQuotedCsv() {
+        // given
+        BDDMockito.willAnswer(invocation -> {
+                    Consumer<EmployeeExportRow> consumer = invocation.getArgument(2);
+                    consumer.accept(new EmployeeExportRow(1L, "Muhammet, Oğuzhan", "AY\"DOĞDU", "moaydogdu@enbsoftware.com", null));
+                    return null;
+                })
+                .given(employeeService)
+                .exportEmployees(Mockito.isNull(), Mockito.eq(0L), any());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/employees/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(content().string(
+                        "id,firstName,lastName,email,updatedAt\r\n" +
+                                "1,\"Muhammet, Oğuzhan\",\"AY\"\"DOĞDU\",moaydogdu@enbsoftware.com,\r\n"
+                ))
+                .andDo(print());
+    }
+
+    // JUnit test for the export REST API -> Negative Scenario
+    @SneakyThrows
+    @Test
+    public void givenUnknownFormat_whenExportEmployees_thenReturn400() {
+        // when
+        ResultActions response = mockMvc.perform(get("/api/employees/export").param("format", "xml"));
+
+        // then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        Mockito.verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test for type-ahead search REST API
+    @SneakyThrows
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatchingViews() {
+        // given
+        EmployeeView employee = new EmployeeView(1L, "Muhammet Oğuzhan", "AYDOĞDU", "moaydogdu@enbsoftware.com");
+
+        given(employeeService.searchEmployees("muh ayd", 20))
+                .willReturn(Optional.of(List.of(employee)));
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/search")
+                        .param("q", "muh ayd")
+        );
+
+        // then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.email())))
+                .andDo(print());
+    }
+
+    // JUnit test for type-ahead search REST API without the search index
+    @SneakyThrows
+    @Test
+    public void givenSearchDisabled_whenSearchEmployees_thenReturn404() {
+        // given
+        given(employeeService.searchEmployees("muh ayd", 20))
+                .willReturn(Optional.empty());
+
+        // when
+        ResultActions response = mockMvc.perform(
+                get("/api/employees/search")
+                        .param("q", "muh ayd")
+        );
+
+        // then
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
 }
@@ -28,5 +28,13 @@ public abstract class AbstractIntegrationTest {
                 MY_SQL_CONTAINER::getUsername);
         dynamicPropertyRegistry.add("spring.datasource.password",
                 MY_SQL_CONTAINER::getPassword);
+        dynamicPropertyRegistry.add("spring.r2dbc.url",
+                () -> "r2dbc:mysql://" + MY_SQL_CONTAINER.getHost() + ":"
+                        + MY_SQL_CONTAINER.getMappedPort(MySQLContainer.MYSQL_PORT) + "/"
+                        + MY_SQL_CONTAINER.getDatabaseName());
+        dynamicPropertyRegistry.add("spring.r2dbc.username",
+                MY_SQL_CONTAINER::getUsername);
+        dynamicPropertyRegistry.add("spring.r2dbc.password",
+                MY_SQL_CONTAINER::getPassword);
     }
 }
@@ -2,30 +2,38 @@ package com.moaydogdu.springboottesting.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.EmployeeChangeRepository;
 import com.moaydogdu.springboottesting.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class EmployeeControllerITest extends AbstractIntegrationTest {
 
@@ -38,6 +46,9 @@ public class EmployeeControllerITest extends AbstractIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
     @BeforeEach
     void setup() {
         employeeRepository.deleteAll();
@@ -214,4 +225,101 @@ public class EmployeeControllerITest extends AbstractIntegrationTest {
         response.andExpect(status().isOk())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    // JUnit test for the Prometheus scrape of controller, service and repository timings
+    @Test
+    public void givenEmployeeRequest_whenScrapePrometheus_thenReturnLatencyHistograms() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+        employeeRepository.save(employee);
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/actuator/prometheus"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("employee_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getEmployeeById\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")));
+    }
+
+    @Test
+    public void givenCreatedEmployee_whenSearchEmployees_thenFindUntilDeleted() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Zeynep")
+                .lastName("Karaçalı")
+                .email("zeynep.karacali@enbsoftware.com")
+                .build();
+        String createdEmployee = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long employeeId = objectMapper.readTree(createdEmployee).get("id").asLong();
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search")
+                .param("q", "zeyn karacal"));
+        mockMvc.perform(delete("/api/employees/{id}", employeeId));
+        ResultActions responseAfterDelete = mockMvc.perform(get("/api/employees/search")
+                .param("q", "zeyn karacal"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is((int) employeeId)));
+        responseAfterDelete.andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(0)));
+    }
+
+    @Test
+    public void givenCreatedAndDeletedEmployee_whenPollChanges_thenReturnBothInOrder() throws Exception {
+
+        // given - precondition or setup
+        long since = employeeChangeRepository.findLastId();
+        Employee employee = Employee.builder()
+                .firstName("Ayşe")
+                .lastName("Yılmaz")
+                .email("ayse.yilmaz@enbsoftware.com")
+                .build();
+        String createdEmployee = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long employeeId = objectMapper.readTree(createdEmployee).get("id").asLong();
+        mockMvc.perform(delete("/api/employees/{id}", employeeId));
+
+        // when - action or behaviour that we are going test
+        // long polls until both changes are published, the second may come in a later poll
+        List<String> types = new ArrayList<>();
+        for (int poll = 0; poll < 5 && types.size() < 2; poll++) {
+            MvcResult mvcResult = mockMvc.perform(get("/api/employees/changes")
+                            .param("since", String.valueOf(since)))
+                    .andReturn();
+            MvcResult response = mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            for (var change : objectMapper.readTree(response.getResponse().getContentAsString())) {
+                if (change.get("employeeId").asLong() == employeeId) {
+                    types.add(change.get("type").asText());
+                }
+            }
+            since = Long.parseLong(response.getResponse().getHeader("X-Next-Since"));
+        }
+
+        // then - verify the output
+        assertThat(types).containsExactly("CREATED", "DELETED");
+    }
+}
@@ -0,0 +1,93 @@
+package com.moaydogdu.springboottesting.integration;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The application pool has one connection, held by the inserting transaction, so every id block
+// it needs has to be reserved on the employee.id-generator pool
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.hikari.maximum-pool-size=1",
+                "spring.datasource.hikari.minimum-idle=1"
+        }
+)
+public class EmployeeIdGeneratorITests extends AbstractIntegrationTest {
+
+    private static final String APPLICATION_POOL = "employee-pool";
+
+    private static final String ID_GENERATOR_POOL = "employee-id-pool";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit test for id blocks reserved while the application pool is exhausted.
+    @DisplayName("JUnit test for id blocks reserved while the application pool is exhausted.")
+    @Test
+    public void givenExhaustedApplicationPool_whenSaveEmployees_thenReserveIdsOnIdGeneratorPool() {
+        // given - precondition or setup
+        long idGeneratorAcquires = acquires(ID_GENERATOR_POOL);
+        double applicationPoolTimeouts = timeouts(APPLICATION_POOL);
+        int employeeCount = Employee.ID_ALLOCATION_SIZE + 1;
+
+        // when - action or the behaviour that we are going test
+        List<Long> ids = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> savedIds = new ArrayList<>();
+            for (int i = 0; i < employeeCount; i++) {
+                savedIds.add(employeeRepository.saveAndFlush(Employee.builder()
+                        .firstName("Muhammet")
+                        .lastName("AYDOĞDU")
+                        .email("moaydogdu" + i + "@gmail.com")
+                        .build()).getId());
+            }
+            return savedIds;
+        });
+
+        // then - verify the output
+        assertThat(ids).hasSize(employeeCount).doesNotHaveDuplicates();
+        assertThat(employeeRepository.count()).isEqualTo(employeeCount);
+        assertThat(acquires(ID_GENERATOR_POOL)).isGreaterThan(idGeneratorAcquires);
+        assertThat(timeouts(APPLICATION_POOL)).isEqualTo(applicationPoolTimeouts);
+    }
+
+    // a pool registers its meters when it starts, the id generator pool on its first connection
+    private long acquires(String pool) {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire")
+                .tag("pool", pool)
+                .timer();
+        return acquire == null ? 0 : acquire.count();
+    }
+
+    private double timeouts(String pool) {
+        Counter timeout = meterRegistry.find("hikaricp.connections.timeout")
+                .tag("pool", pool)
+                .counter();
+        return timeout == null ? 0 : timeout.count();
+    }
+}
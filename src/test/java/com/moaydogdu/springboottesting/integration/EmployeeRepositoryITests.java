@@ -2,6 +2,10 @@ package com.moaydogdu.springboottesting.integration;
 
 import com.moaydogdu.springboottesting.integration.AbstractIntegrationTest;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeExportRow;
+import com.moaydogdu.springboottesting.model.projection.EmployeeName;
+import com.moaydogdu.springboottesting.model.projection.EmployeeNameView;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
 import com.moaydogdu.springboottesting.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,9 +13,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,6 +31,9 @@ public class EmployeeRepositoryITests extends AbstractIntegrationTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -214,6 +226,276 @@ public class EmployeeRepositoryITests extends AbstractIntegrationTest {
         assertThat(savedEmployee).isNotNull();
     }
 
+    // JUnit test for keyset pagination operation.
+    @DisplayName("JUnit test for keyset pagination operation.")
+    @Test
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextPageInIdOrder() {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // when
+        List<Employee> employeeList = employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                employee.getId(),
+                PageRequest.of(0, 10)
+        );
+
+        // then
+        assertThat(employeeList).extracting(Employee::getId).containsExactly(employee2.getId());
+    }
+
+    // JUnit test for streaming all employees operation.
+    @DisplayName("JUnit test for streaming all employees operation.")
+    @Test
+    public void givenEmployeeObject_whenStreamAll_thenReturnEmployeeStream() {
+        // given
+        employeeRepository.save(employee);
+
+        // when
+        List<Employee> employeeList;
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employeeList = employees.toList();
+        }
+
+        // then
+        assertThat(employeeList).hasSize(1);
+        assertThat(employeeList.get(0).getEmail()).isEqualTo(employee.getEmail());
+    }
 
+    // JUnit test for batch insert operation.
+    @DisplayName("JUnit test for batch insert operation.")
+    @Test
+    public void givenEmployeesList_whenBatchInsert_thenAssignGeneratedIds() {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+
+        // when
+        employeeRepository.batchInsert(List.of(employee, employee2));
+
+        // then
+        assertThat(employee.getId()).isGreaterThan(0);
+        assertThat(employee2.getId()).isGreaterThan(employee.getId());
+        assertThat(employeeRepository.findExistingEmails(
+                List.of(employee.getEmail(), employee2.getEmail(), "unknown@gmail.com")
+        )).containsExactlyInAnyOrder(employee.getEmail(), employee2.getEmail());
+    }
+
+    // JUnit test for the unique email constraint.
+    @DisplayName("JUnit test for the unique email constraint.")
+    @Test
+    public void givenExistingEmail_whenSaveAndFlush_thenThrowDataIntegrityViolation() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+
+        Employee duplicate = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email(employee.getEmail())
+                .build();
+
+        // when - then
+        org.junit.jupiter.api.Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> employeeRepository.saveAndFlush(duplicate)
+        );
+    }
+
+    // JUnit test for the bounded name lookup operation.
+    @DisplayName("JUnit test for the bounded name lookup operation.")
+    @Test
+    public void givenEmployeesWithSameName_whenFindByFirstNameAndLastName_thenReturnBoundedList() {
+        // given
+        Employee namesake = Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(namesake);
+
+        // when
+        List<Employee> employeeList = employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                employee.getFirstName(),
+                employee.getLastName(),
+                PageRequest.of(0, 10),
+                Employee.class
+        );
+        List<EmployeeNameView> firstName = employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                employee.getFirstName(),
+                employee.getLastName(),
+                PageRequest.of(0, 1),
+                EmployeeNameView.class
+        );
+
+        // then
+        assertThat(employeeList).extracting(Employee::getId)
+                .containsExactly(employee.getId(), namesake.getId());
+        assertThat(firstName).hasSize(1);
+        assertThat(firstName.get(0).getId()).isEqualTo(employee.getId());
+        assertThat(firstName.get(0).getLastName()).isEqualTo(employee.getLastName());
+    }
+
+    // JUnit test for single statement partial update operation.
+    @DisplayName("JUnit test for single statement partial update operation.")
+    @Test
+    public void givenEmployeeObject_whenUpdateFields_thenUpdateOnlyGivenColumns() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+
+        // when
+        int updatedRows = employeeRepository.updateFields(employee.getId(), null, null, null, "test@gmail.com");
+        int missingRows = employeeRepository.updateFields(employee.getId() + 1, null, null, null, "other@gmail.com");
+        entityManager.clear();
 
+        // then
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(missingRows).isZero();
+        assertThat(updatedEmployee.getEmail()).isEqualTo("test@gmail.com");
+        assertThat(updatedEmployee.getFirstName()).isEqualTo(employee.getFirstName());
+    }
+
+    // JUnit test for version checked update operation.
+    @DisplayName("JUnit test for version checked update operation.")
+    @Test
+    public void givenEmployeeVersion_whenUpdateFields_thenBumpVersionAndRejectStaleVersion() {
+        // given
+        employeeRepository.saveAndFlush(employee);
+        long version = employee.getVersion();
+
+        // when
+        int updatedRows = employeeRepository.updateFields(employee.getId(), version, "Oğuzhan", null, null);
+        int staleRows = employeeRepository.updateFields(employee.getId(), version, "Muhammet", null, null);
+        entityManager.clear();
+
+        // then
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(staleRows).isZero();
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(version + 1);
+        assertThat(employeeRepository.findById(employee.getId()).get().getFirstName()).isEqualTo("Oğuzhan");
+    }
+
+    // JUnit test for set based delete operations.
+    @DisplayName("JUnit test for set based delete operations.")
+    @Test
+    public void givenEmployeesList_whenDeleteEmployeesByIds_thenReturnAffectedCount() {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        employeeRepository.flush();
+
+        // when
+        List<Long> deletedIds = employeeRepository.deleteEmployeesByIds(
+                List.of(employee.getId(), employee2.getId(), employee2.getId() + 1)
+        );
+        int missingRows = employeeRepository.deleteEmployeeById(employee.getId());
+        entityManager.clear();
+
+        // then
+        assertThat(deletedIds).containsExactlyInAnyOrder(employee.getId(), employee2.getId());
+        assertThat(missingRows).isZero();
+        assertThat(employeeRepository.findAll()).isEmpty();
+    }
+
+    // JUnit test for the pooled table id generator.
+    @DisplayName("JUnit test for the pooled table id generator.")
+    @Test
+    public void givenEmployeesList_whenBatchInsert_thenIdsComeFromOneAllocatedBlock() {
+        // given
+        List<Employee> employees = Stream.of("first", "second", "third")
+                .map(name -> Employee.builder()
+                        .firstName(name)
+                        .lastName("BATCH")
+                        .email(name + "@batch.com")
+                        .build())
+                .toList();
+
+        // when
+        employeeRepository.batchInsert(employees);
+
+        // then
+        long firstId = employees.get(0).getId();
+        assertThat(employees).extracting(Employee::getId)
+                .containsExactly(firstId, firstId + 1, firstId + 2);
+
+        Number nextValue = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT next_val FROM " + Employee.ID_GENERATOR_TABLE + " WHERE name = ?1")
+                .setParameter(1, Employee.ID_GENERATOR_SEGMENT)
+                .getSingleResult();
+        assertThat(nextValue.longValue()).isGreaterThan(firstId + 2);
+    }
+
+    // JUnit test for the projected full table read.
+    @DisplayName("JUnit test for the projected full table read.")
+    @Test
+    public void givenEmployeesList_whenFindAllByProjection_thenReturnOnlyProjectedFields() {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // when
+        List<EmployeeView> views = employeeRepository.findAllBy(EmployeeView.class);
+        List<EmployeeName> names = employeeRepository.findAllBy(EmployeeName.class);
+
+        // then
+        assertThat(views).containsExactlyInAnyOrder(EmployeeView.of(employee), EmployeeView.of(employee2));
+        assertThat(names).extracting(EmployeeName::lastName)
+                .containsExactlyInAnyOrder(employee.getLastName(), employee2.getLastName());
+    }
+
+    // JUnit test for the incremental export operation.
+    @DisplayName("JUnit test for the incremental export operation.")
+    @Test
+    public void givenUpdatedEmployee_whenExportRowsSince_thenReturnRowsAfterTheWatermark() throws InterruptedException {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee, employee2));
+        employeeRepository.flush();
+
+        List<EmployeeExportRow> allRows = new ArrayList<>();
+        employeeRepository.exportRows(null, 0, 1, allRows::add);
+
+        Thread.sleep(5);
+        employeeRepository.updateFields(employee.getId(), null, "Oğuzhan", null, null);
+
+        // when
+        EmployeeExportRow watermark = allRows.get(allRows.size() - 1);
+        List<EmployeeExportRow> changedRows = new ArrayList<>();
+        employeeRepository.exportRows(watermark.updatedAt(), watermark.id(), 1, changedRows::add);
+
+        List<EmployeeExportRow> rowsAfterFirstId = new ArrayList<>();
+        employeeRepository.exportRows(null, employee.getId(), 1, rowsAfterFirstId::add);
+
+        // then
+        assertThat(allRows).extracting(EmployeeExportRow::id)
+                .containsExactly(employee.getId(), employee2.getId());
+        assertThat(allRows).allSatisfy(row -> assertThat(row.updatedAt()).isNotNull());
+        assertThat(changedRows).extracting(EmployeeExportRow::firstName).containsExactly("Oğuzhan");
+        assertThat(changedRows.get(0).updatedAt()).isAfter(watermark.updatedAt());
+        assertThat(rowsAfterFirstId).extracting(EmployeeExportRow::id).containsExactly(employee2.getId());
+    }
 }
@@ -0,0 +1,254 @@
+package com.moaydogdu.springboottesting.integration;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+public class ReactiveEmployeeControllerITest extends AbstractIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll().block();
+        template.delete(Query.empty(), EmployeeChange.class).block();
+    }
+
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@enbsoftware.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post()
+                .uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.firstName").isEqualTo(employee.getFirstName())
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAsNdjson_thenStreamEmployeesInIdOrder() {
+
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Muhammet").lastName("AYDOĞDU").email("moaydogdu@gmail.com").build(),
+                Employee.builder().firstName("Oğuzhan").lastName("AYDOĞDU").email("oaydogdu@gmail.com").build()
+        );
+        employeeRepository.saveAll(employees).blockLast();
+
+        // when - action or behaviour that we are going test
+        Flux<Employee> response = webTestClient.get()
+                .uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody();
+
+        // then - verify the output
+        StepVerifier.create(response.map(Employee::getEmail))
+                .expectNext("moaydogdu@gmail.com", "oaydogdu@gmail.com")
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get()
+                .uri("/api/employees/{id}", employeeId)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() {
+
+        // given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Muhammet")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@gmail.com")
+                .build()).block();
+
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("oaydogdu@gmail.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put()
+                .uri("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (savedEmployee.getVersion() + 1) + "\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo(updatedEmployee.getFirstName())
+                .jsonPath("$.email").isEqualTo(updatedEmployee.getEmail());
+    }
+
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() {
+
+        // given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Muhammet")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@gmail.com")
+                .build()).block();
+
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("oaydogdu@gmail.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put()
+                .uri("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (savedEmployee.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updatedEmployee)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(employeeRepository.findById(savedEmployee.getId()).block().getFirstName())
+                .isEqualTo("Muhammet");
+    }
+
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenReturn200() {
+
+        // given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Muhammet")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@gmail.com")
+                .build()).block();
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri("/api/employees/{id}", savedEmployee.getId())
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isOk();
+        assertThat(employeeRepository.findById(savedEmployee.getId()).block()).isNull();
+    }
+
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri("/api/employees/{id}", employeeId)
+                .exchange();
+
+        // then - verify the output
+        response.expectStatus().isNotFound();
+        assertThat(template.select(Query.empty(), EmployeeChange.class).collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void givenEmployeeObject_whenCreateUpdateAndDeleteEmployee_thenRecordChanges() {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Muhammet")
+                .lastName("AYDOĞDU")
+                .email("moaydogdu@gmail.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        Employee savedEmployee = webTestClient.post()
+                .uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult()
+                .getResponseBody();
+        webTestClient.put()
+                .uri("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee.toBuilder().firstName("Oğuzhan").build())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete()
+                .uri("/api/employees/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // then - verify the output
+        List<EmployeeChange> changes = template.select(
+                Query.empty().sort(Sort.by("id")),
+                EmployeeChange.class
+        ).collectList().block();
+        assertThat(changes).extracting(EmployeeChange::getType).containsExactly(
+                EmployeeChange.Type.CREATED,
+                EmployeeChange.Type.UPDATED,
+                EmployeeChange.Type.DELETED
+        );
+        assertThat(changes).allSatisfy(change -> assertThat(change.getEmployeeId()).isEqualTo(savedEmployee.getId()));
+        assertThat(changes.get(1).getFirstName()).isEqualTo("Oğuzhan");
+    }
+}
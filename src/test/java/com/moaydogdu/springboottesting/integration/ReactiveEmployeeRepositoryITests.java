@@ -0,0 +1,151 @@
+package com.moaydogdu.springboottesting.integration;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("reactive")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE
+)
+public class ReactiveEmployeeRepositoryITests extends AbstractIntegrationTest {
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll().block();
+
+        employee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("m.o.aydogdu@outlook.com")
+                .build();
+    }
+
+    // JUnit test for the id reservation on the shared generator row.
+    @DisplayName("JUnit test for the id reservation on the shared generator row.")
+    @Test
+    public void givenNewEmployees_whenSave_thenReserveConsecutiveIdsFromGeneratorRow() {
+        // given
+        Employee employee2 = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+
+        // when
+        Employee first = employeeRepository.save(employee).block();
+        Employee second = employeeRepository.save(employee2).block();
+
+        // then
+        assertThat(first.getId()).isPositive();
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+        assertThat(first.getVersion()).isZero();
+        assertThat(first.getUpdatedAt()).isNotNull();
+        // the row is left at the next free id, where Hibernate's pooled-lo generator continues
+        Long nextVal = template.getDatabaseClient()
+                .sql("SELECT next_val FROM " + Employee.ID_GENERATOR_TABLE + " WHERE name = :name")
+                .bind("name", Employee.ID_GENERATOR_SEGMENT)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertThat(nextVal).isEqualTo(second.getId() + 1);
+    }
+
+    // JUnit test for version checked update operation.
+    @DisplayName("JUnit test for version checked update operation.")
+    @Test
+    public void givenSavedEmployee_whenSaveWithCurrentVersion_thenBumpVersion() {
+        // given
+        Employee savedEmployee = employeeRepository.save(employee).block();
+
+        // when
+        savedEmployee.setEmail("moaydogdu@enbsoftware.com");
+        Employee updatedEmployee = employeeRepository.save(savedEmployee).block();
+
+        // then
+        assertThat(updatedEmployee.getVersion()).isEqualTo(1L);
+        StepVerifier.create(employeeRepository.findById(savedEmployee.getId()))
+                .assertNext(found -> {
+                    assertThat(found.getEmail()).isEqualTo("moaydogdu@enbsoftware.com");
+                    assertThat(found.getVersion()).isEqualTo(1L);
+                })
+                .verifyComplete();
+    }
+
+    // JUnit test for version checked update with a stale version.
+    @DisplayName("JUnit test for version checked update with a stale version.")
+    @Test
+    public void givenStaleVersion_whenSave_thenThrowOptimisticLockingFailure() {
+        // given
+        Employee savedEmployee = employeeRepository.save(employee).block();
+        employeeRepository.save(savedEmployee.toBuilder().lastName("BAŞTÜRK").build()).block();
+
+        // when
+        Employee stale = savedEmployee.toBuilder().firstName("Oğuzhan").version(0L).build();
+
+        // then
+        StepVerifier.create(employeeRepository.save(stale))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        StepVerifier.create(employeeRepository.findById(savedEmployee.getId()))
+                .assertNext(found -> assertThat(found.getFirstName()).isEqualTo("Muhammet Oğuzhan"))
+                .verifyComplete();
+    }
+
+    // JUnit test for streaming all employees operation.
+    @DisplayName("JUnit test for streaming all employees operation.")
+    @Test
+    public void givenEmployeesList_whenFindAllByOrderByIdAsc_thenStreamInIdOrderOnDemand() {
+        // given
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Muhammet").lastName("AYDOĞDU").email("moaydogdu@gmail.com").build(),
+                Employee.builder().firstName("Oğuzhan").lastName("AYDOĞDU").email("oaydogdu@gmail.com").build(),
+                Employee.builder().firstName("Nurettin").lastName("BAŞTÜRK").email("nurettinbasturk@gmail.com").build()
+        );
+        List<Employee> savedEmployees = employeeRepository.saveAll(employees).collectList().block();
+
+        // when - rows requested one at a time
+        StepVerifier.create(employeeRepository.findAllByOrderByIdAsc(), 1)
+                .assertNext(found -> assertThat(found.getId()).isEqualTo(savedEmployees.get(0).getId()))
+                .thenRequest(2)
+                .assertNext(found -> assertThat(found.getId()).isEqualTo(savedEmployees.get(1).getId()))
+                .assertNext(found -> assertThat(found.getId()).isEqualTo(savedEmployees.get(2).getId()))
+                // then
+                .verifyComplete();
+    }
+
+    // JUnit test for delete employee operation.
+    @DisplayName("JUnit test for delete employee operation.")
+    @Test
+    public void givenSavedEmployee_whenDeleteById_thenRemoveEmployee() {
+        // given
+        Employee savedEmployee = employeeRepository.save(employee).block();
+
+        // when
+        employeeRepository.deleteById(savedEmployee.getId()).block();
+
+        // then
+        StepVerifier.create(employeeRepository.findById(savedEmployee.getId()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,124 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 in MySQL mode, migrated by the h2 Flyway scripts, with the second-level cache of
+// application.properties. Every repository call commits, so the cache sees real transactions.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-eviction;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeCacheEvictionTests {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Employee> employees;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        employees = employeeRepository.saveAll(List.of(
+                Employee.builder().firstName("Muhammet Oğuzhan").lastName("AYDOĞDU").email("m.o.aydogdu@outlook.com").build(),
+                Employee.builder().firstName("Nurettin").lastName("BAŞTÜRK").email("nurettinbasturk@gmail.com").build(),
+                Employee.builder().firstName("Ayşe").lastName("YILMAZ").email("ayse.yilmaz@gmail.com").build()
+        ));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // the first reads fill the entity and natural-id regions
+        for (Employee employee : employees) {
+            employeeRepository.findById(employee.getId());
+            employeeRepository.findByNaturalEmail(employee.getEmail());
+        }
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        employeeRepository.deleteEmployeesByIds(employees.stream().map(Employee::getId).toList());
+    }
+
+    @DisplayName("JUnit Test : deleting one employee keeps the others cached by id and by email")
+    @Test
+    public void givenCachedEmployees_whenDeleteOne_thenOthersStillHitTheCache() {
+        // given
+        Employee deleted = employees.get(0);
+        List<Employee> kept = employees.subList(1, employees.size());
+
+        // when
+        int deletedRows = employeeRepository.deleteEmployeeById(deleted.getId());
+        for (Employee employee : kept) {
+            employeeRepository.findById(employee.getId());
+            employeeRepository.findByNaturalEmail(employee.getEmail());
+        }
+
+        // then
+        CacheRegionStatistics entities = statistics.getDomainDataRegionStatistics(Employee.CACHE_REGION);
+        CacheRegionStatistics naturalIds = statistics.getDomainDataRegionStatistics(Employee.NATURAL_ID_CACHE_REGION);
+        assertThat(deletedRows).isEqualTo(1);
+        assertThat(entities.getMissCount()).isZero();
+        assertThat(entities.getHitCount()).isEqualTo(2L * kept.size());
+        assertThat(naturalIds.getMissCount()).isZero();
+        assertThat(naturalIds.getHitCount()).isEqualTo(kept.size());
+    }
+
+    @DisplayName("JUnit Test : a deleted employee is gone from the cache by id and by email")
+    @Test
+    public void givenCachedEmployee_whenDelete_thenNotFoundByIdOrEmail() {
+        // given
+        Employee deleted = employees.get(0);
+
+        // when
+        employeeRepository.deleteEmployeesByName(deleted.getFirstName(), deleted.getLastName());
+
+        // then
+        assertThat(employeeRepository.findById(deleted.getId())).isEmpty();
+        assertThat(employeeRepository.findByNaturalEmail(deleted.getEmail())).isEmpty();
+        assertThat(employeeRepository.findById(employees.get(1).getId())).isPresent();
+    }
+
+    @DisplayName("JUnit Test : changing an email evicts only that employee's resolutions")
+    @Test
+    public void givenCachedEmployees_whenUpdateEmail_thenOnlyItsResolutionIsEvicted() {
+        // given
+        Employee changed = employees.get(0);
+
+        // when
+        employeeRepository.updateFields(changed.getId(), null, null, null, "muhammet@aydogdu.dev");
+
+        // then
+        assertThat(employeeRepository.findByNaturalEmail(changed.getEmail())).isEmpty();
+        assertThat(employeeRepository.findByNaturalEmail("muhammet@aydogdu.dev"))
+                .get().extracting(Employee::getId).isEqualTo(changed.getId());
+        statistics.clear();
+        employeeRepository.findByNaturalEmail(employees.get(1).getEmail());
+        assertThat(statistics.getDomainDataRegionStatistics(Employee.NATURAL_ID_CACHE_REGION).getHitCount())
+                .isEqualTo(1);
+    }
+}
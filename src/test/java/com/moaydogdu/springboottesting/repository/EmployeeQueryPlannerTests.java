@@ -0,0 +1,129 @@
+package com.moaydogdu.springboottesting.repository;
+
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeQueryPlannerTests {
+
+    private static final long MAX_SCAN_ROWS = 10_000;
+
+    @DisplayName("JUnit Test : no filter pages over the primary key in id order")
+    @Test
+    public void givenNoFilter_whenPlan_thenUsePrimaryKey() {
+        // when
+        EmployeeQueryPlanner.Plan plan = EmployeeQueryPlanner.plan(query(null, null, null, null, null, Sort.unsorted()), MAX_SCAN_ROWS);
+
+        // then
+        assertThat(plan.index()).isEqualTo("PRIMARY");
+        assertThat(plan.sort()).containsExactly(Sort.Order.asc("id"));
+    }
+
+    @DisplayName("JUnit Test : a last name filter uses its index and is sorted by id")
+    @Test
+    public void givenLastName_whenPlan_thenUseLastNameIndex() {
+        // when
+        EmployeeQueryPlanner.Plan plan = EmployeeQueryPlanner.plan(
+                query(null, "AYDOĞDU", "outlook.com", null, null, Sort.by(Sort.Order.desc("id"))),
+                MAX_SCAN_ROWS
+        );
+
+        // then
+        assertThat(plan.index()).isEqualTo("idx_employees_last_name");
+        assertThat(plan.sort()).containsExactly(Sort.Order.desc("id"));
+    }
+
+    @DisplayName("JUnit Test : a sort is completed along the index so pages are stable")
+    @Test
+    public void givenSortOnIndexPrefix_whenPlan_thenCompleteTheSort() {
+        // when
+        EmployeeQueryPlanner.Plan plan = EmployeeQueryPlanner.plan(
+                query(null, null, null, null, null, Sort.by("firstName")),
+                MAX_SCAN_ROWS
+        );
+
+        // then
+        assertThat(plan.index()).isEqualTo("idx_employees_name");
+        assertThat(plan.sort()).containsExactly(
+                Sort.Order.asc("firstName"),
+                Sort.Order.asc("lastName"),
+                Sort.Order.asc("id")
+        );
+    }
+
+    @DisplayName("JUnit Test : an email domain filter runs over a bounded id range only")
+    @Test
+    public void givenEmailDomain_whenPlan_thenRequireBoundedIdRange() {
+        // when
+        EmployeeQueryPlanner.Plan plan = EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", 1L, 5_000L, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        );
+
+        // then
+        assertThat(plan.index()).isEqualTo("PRIMARY");
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", null, null, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", 1L, 50_000L, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("JUnit Test : id ranges wider than a long are not taken as bounded")
+    @Test
+    public void givenIdRangeAtLongBounds_whenPlan_thenRejectUnboundedScan() {
+        // when / then
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", -1L, Long.MAX_VALUE, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", Long.MIN_VALUE, Long.MAX_VALUE, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", Long.MIN_VALUE, 0L, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThat(EmployeeQueryPlanner.plan(
+                query(null, null, "outlook.com", Long.MAX_VALUE - 10, Long.MAX_VALUE, Sort.unsorted()),
+                MAX_SCAN_ROWS
+        ).index()).isEqualTo("PRIMARY");
+    }
+
+    @DisplayName("JUnit Test : sorts no index serves are rejected")
+    @Test
+    public void givenUnindexedSort_whenPlan_thenThrowsException() {
+        // when - then
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, "AYDOĞDU", null, null, null, Sort.by("email")),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, null, null, null, Sort.by(Sort.Order.asc("firstName"), Sort.Order.desc("lastName"))),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EmployeeQueryPlanner.plan(
+                query(null, null, null, null, null, Sort.by("version")),
+                MAX_SCAN_ROWS
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static EmployeeQuery query(
+            String firstName,
+            String lastName,
+            String emailDomain,
+            Long minId,
+            Long maxId,
+            Sort sort
+    ) {
+        return new EmployeeQuery(firstName, lastName, emailDomain, minId, maxId, sort, 0, 20, false);
+    }
+}
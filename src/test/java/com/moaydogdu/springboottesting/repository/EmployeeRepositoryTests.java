@@ -1,12 +1,17 @@
 package com.moaydogdu.springboottesting.repository;
 
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -211,6 +216,30 @@ public class EmployeeRepositoryTests {
         assertThat(savedEmployee).isNotNull();
     }
 
+    // JUnit test for the dynamic filter query.
+    @DisplayName("JUnit test for find views with a specification.")
+    @Test
+    public void givenEmployees_whenFindViewsByLastNameAndEmailDomain_thenReturnMatchingPage() {
+        // given
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder()
+                .firstName("Nurettin")
+                .lastName("AYDOĞDU")
+                .email("nurettin@gmail.com")
+                .build());
+        EmployeeQuery query = new EmployeeQuery(null, "AYDOĞDU", "outlook.com", null, null, Sort.unsorted(), 0, 1, false);
 
+        // when
+        Slice<EmployeeView> slice = employeeRepository.findViews(
+                EmployeeSpecifications.matching(query),
+                PageRequest.of(0, 1, Sort.by("id"))
+        );
 
+        // then
+        assertThat(slice.getContent())
+                .extracting(EmployeeView::email)
+                .containsExactly(employee.getEmail());
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(employeeRepository.count(EmployeeSpecifications.matching(query))).isEqualTo(1);
+    }
 }
@@ -0,0 +1,146 @@
+package com.moaydogdu.springboottesting.search;
+
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex index;
+
+    private EmployeeView muhammet;
+
+    private EmployeeView john;
+
+    private EmployeeView johanna;
+
+    @BeforeEach
+    public void setup() {
+        index = new EmployeeSearchIndex();
+
+        muhammet = new EmployeeView(1L, "Muhammet Oğuzhan", "AYDOĞDU", "m.o.aydogdu@outlook.com");
+        john = new EmployeeView(2L, "John", "Doe", "john.doe@acme.com");
+        johanna = new EmployeeView(3L, "Johanna", "Smith", "jsmith@acme.com");
+
+        index.put(muhammet);
+        index.put(john);
+        index.put(johanna);
+    }
+
+    @DisplayName("JUnit Test : a name prefix matches, ordered by the matched name")
+    @Test
+    public void givenNamePrefix_whenSearch_thenReturnMatchingEmployees() {
+        // when
+        List<EmployeeView> results = index.search("Jo", 10);
+
+        // then
+        assertThat(results).containsExactly(johanna, john);
+    }
+
+    @DisplayName("JUnit Test : every query token has to match")
+    @Test
+    public void givenTwoTokens_whenSearch_thenReturnEmployeesMatchingBoth() {
+        // when
+        List<EmployeeView> results = index.search("jo sm", 10);
+
+        // then
+        assertThat(results).containsExactly(johanna);
+    }
+
+    @DisplayName("JUnit Test : email parts match like names")
+    @Test
+    public void givenEmailPrefix_whenSearch_thenReturnMatchingEmployees() {
+        // when
+        List<EmployeeView> byLocalPart = index.search("john.d", 10);
+        List<EmployeeView> byDomain = index.search("acme", 10);
+
+        // then
+        assertThat(byLocalPart).containsExactly(john);
+        assertThat(byDomain).containsExactlyInAnyOrder(john, johanna);
+    }
+
+    @DisplayName("JUnit Test : case and accents are ignored")
+    @Test
+    public void givenUnaccentedQuery_whenSearch_thenMatchAccentedName() {
+        // when
+        List<EmployeeView> results = index.search("OGUZ aydog", 10);
+
+        // then
+        assertThat(results).containsExactly(muhammet);
+    }
+
+    @DisplayName("JUnit Test : a name one typo away matches after the prefix matches")
+    @Test
+    public void givenTypo_whenSearch_thenReturnFuzzyMatch() {
+        // when
+        List<EmployeeView> transposed = index.search("jhon", 10);
+        List<EmployeeView> substituted = index.search("smyth", 10);
+
+        // then
+        assertThat(transposed).containsExactly(john);
+        assertThat(substituted).containsExactly(johanna);
+    }
+
+    @DisplayName("JUnit Test : short tokens are not matched fuzzily")
+    @Test
+    public void givenShortTypo_whenSearch_thenReturnNothing() {
+        // when
+        List<EmployeeView> results = index.search("doa", 10);
+
+        // then
+        assertThat(results).isEmpty();
+    }
+
+    @DisplayName("JUnit Test : the limit caps the results")
+    @Test
+    public void givenLimit_whenSearch_thenReturnAtMostLimit() {
+        // when
+        List<EmployeeView> results = index.search("jo", 1);
+
+        // then
+        assertThat(results).containsExactly(johanna);
+    }
+
+    @DisplayName("JUnit Test : a partial update replaces only the given fields")
+    @Test
+    public void givenPartialUpdate_whenSearch_thenMatchNewValueOnly() {
+        // when
+        index.update(2L, null, "Walker", null);
+
+        // then
+        assertThat(index.search("doe", 10)).containsExactly(new EmployeeView(2L, "John", "Walker", "john.doe@acme.com"));
+        assertThat(index.search("walk", 10)).extracting(EmployeeView::id).containsExactly(2L);
+        assertThat(index.search("jo do", 10)).extracting(EmployeeView::id).containsExactly(2L);
+        assertThat(index.search("john doe", 10).get(0).lastName()).isEqualTo("Walker");
+    }
+
+    @DisplayName("JUnit Test : removed employees are no longer found")
+    @Test
+    public void givenRemovedEmployees_whenSearch_thenReturnNothing() {
+        // when
+        index.remove(List.of(2L));
+        index.removeByName("johanna", "SMITH");
+
+        // then
+        assertThat(index.search("jo", 10)).isEmpty();
+        assertThat(index.search("jhon", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit Test : one edit away means one insertion, deletion, substitution or transposition")
+    @Test
+    public void givenTerms_whenIsOneEditAway_thenCompareOptimalStringAlignment() {
+        assertThat(EmployeeSearchIndex.isOneEditAway("jhon", "john")).isTrue();
+        assertThat(EmployeeSearchIndex.isOneEditAway("jon", "john")).isTrue();
+        assertThat(EmployeeSearchIndex.isOneEditAway("johnn", "john")).isTrue();
+        assertThat(EmployeeSearchIndex.isOneEditAway("joan", "john")).isTrue();
+        assertThat(EmployeeSearchIndex.isOneEditAway("john", "john")).isFalse();
+        assertThat(EmployeeSearchIndex.isOneEditAway("jane", "john")).isFalse();
+        assertThat(EmployeeSearchIndex.isOneEditAway("jo", "john")).isFalse();
+    }
+}
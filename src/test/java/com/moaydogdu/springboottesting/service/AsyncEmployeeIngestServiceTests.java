@@ -0,0 +1,159 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeIngestStatus;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.service.impl.AsyncEmployeeIngestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncEmployeeIngestServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeProperties employeeProperties;
+
+    private AsyncEmployeeIngestService ingestService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeProperties = new EmployeeProperties();
+        employeeProperties.getIngest().setQueueCapacity(2);
+
+        employee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("m.o.aydogdu@outlook.com")
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (ingestService != null && ingestService.isRunning()) {
+            ingestService.stop();
+        }
+    }
+
+    @DisplayName("JUnit Test : accepted employees are written before stop returns")
+    @Test
+    public void givenSubmittedEmployees_whenStop_thenWriteThemFirst() {
+        // given
+        given(employeeService.saveEmployees(any()))
+                .willAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestService = newIngestService();
+        ingestService.start();
+
+        // when
+        String first = ingestService.submit(employee).get().trackingId();
+        String second = ingestService.submit(employee.toBuilder().email("other@outlook.com").build()).get().trackingId();
+        ingestService.stop();
+
+        // then
+        assertThat(ingestService.getStatus(first).get().status()).isEqualTo(EmployeeIngestStatus.Status.CREATED);
+        assertThat(ingestService.getStatus(second).get().id()).isNotNull();
+        assertThat(ingestService.isRunning()).isFalse();
+    }
+
+    @DisplayName("JUnit Test : a full queue rejects the employee")
+    @Test
+    public void givenFullQueue_whenSubmit_thenReturnEmpty() throws InterruptedException {
+        // given
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeService.saveEmployees(any()))
+                .willAnswer(invocation -> {
+                    writerBlocked.countDown();
+                    release.await();
+                    return created(invocation.getArgument(0));
+                });
+        ingestService = newIngestService();
+        ingestService.start();
+        ingestService.submit(employee);
+        writerBlocked.await();
+
+        // when
+        Optional<EmployeeIngestStatus> second = ingestService.submit(employee);
+        Optional<EmployeeIngestStatus> third = ingestService.submit(employee);
+        Optional<EmployeeIngestStatus> rejected = ingestService.submit(employee);
+        release.countDown();
+
+        // then
+        assertThat(second).isPresent();
+        assertThat(third).isPresent();
+        assertThat(rejected).isEmpty();
+    }
+
+    @DisplayName("JUnit Test : a failed batch is retried row by row")
+    @Test
+    public void givenFailingBatch_whenWriterRuns_thenReportEachRow() {
+        // given
+        given(employeeService.saveEmployees(any()))
+                .willThrow(new DataIntegrityViolationException("uk_employees_email"));
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new ResourceNotFoundException("Employee already exists with given email: " + employee.getEmail()));
+        ingestService = newIngestService();
+        ingestService.start();
+
+        // when
+        String trackingId = ingestService.submit(employee).get().trackingId();
+        ingestService.stop();
+
+        // then
+        assertThat(ingestService.getStatus(trackingId).get().status()).isEqualTo(EmployeeIngestStatus.Status.DUPLICATE);
+        verify(employeeService, Mockito.times(1)).saveEmployee(any(Employee.class));
+    }
+
+    @DisplayName("JUnit Test : nothing is accepted after stop")
+    @Test
+    public void givenStoppedService_whenSubmit_thenReturnEmpty() {
+        // given
+        ingestService = newIngestService();
+        ingestService.start();
+        ingestService.stop();
+
+        // when
+        Optional<EmployeeIngestStatus> status = ingestService.submit(employee);
+
+        // then
+        assertThat(status).isEmpty();
+    }
+
+    private static List<EmployeeImportResult> created(Iterator<Employee> employees) {
+        List<EmployeeImportResult> results = new ArrayList<>();
+        while (employees.hasNext()) {
+            results.add(EmployeeImportResult.created(results.size(), employees.next().getEmail(), 40L + results.size()));
+        }
+        return results;
+    }
+
+    private AsyncEmployeeIngestService newIngestService() {
+        employeeProperties.getIngest().setDrainTimeout(Duration.ofSeconds(10));
+        return new AsyncEmployeeIngestService(employeeService, employeeProperties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,243 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.service.impl.CachingEmployeeService;
+import com.moaydogdu.springboottesting.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingEmployeeServiceTests {
+
+    @Mock
+    private EmployeeServiceImpl delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingEmployeeService employeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeService = new CachingEmployeeService(delegate, new EmployeeProperties(), meterRegistry);
+
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("m.o.aydogdu@outlook.com")
+                .build();
+    }
+
+    @DisplayName("JUnit Test : get employee by id is served from the cache after the first call")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenHitDatabaseOnce() {
+        // given
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        // when
+        employeeService.getEmployeeById(1L);
+        Employee employeeFromCache = employeeService.getEmployeeById(1L).get();
+
+        // then
+        assertThat(employeeFromCache.getEmail()).isEqualTo(employee.getEmail());
+        verify(delegate, Mockito.times(1)).getEmployeeById(1L);
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", "employees.byId")
+                .tag("result", "hit")
+                .functionCounter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @DisplayName("JUnit Test : mutating a returned employee does not change the cached entry")
+    @Test
+    public void givenCachedEmployee_whenCallerMutatesResult_thenCacheKeepsOriginal() {
+        // given
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        // when
+        employeeService.getEmployeeById(1L).get().setEmail("changed@gmail.com");
+
+        // then
+        assertThat(employeeService.getEmployeeById(1L).get().getEmail())
+                .isEqualTo("m.o.aydogdu@outlook.com");
+    }
+
+    @DisplayName("JUnit Test : get employee by email reuses the id cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByEmail_thenServeFromCache() {
+        // given
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+        given(delegate.getEmployeeByEmail("M.O.Aydogdu@outlook.com")).willReturn(Optional.of(employee));
+        employeeService.getEmployeeByEmail("M.O.Aydogdu@outlook.com");
+
+        // when
+        Optional<Employee> employeeFromCache = employeeService.getEmployeeByEmail("m.o.aydogdu@outlook.com");
+
+        // then
+        assertThat(employeeFromCache).isPresent();
+        verify(delegate, Mockito.never()).getEmployeeByEmail("m.o.aydogdu@outlook.com");
+    }
+
+    @DisplayName("JUnit Test : update employee replaces the entry and drops the old email")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenOldEmailIsEvicted() {
+        // given
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        given(delegate.updateEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        Employee savedEmployee = employeeService.getEmployeeById(1L).get();
+        savedEmployee.setEmail("test@gmail.com");
+
+        // when
+        Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
+
+        // then
+        assertThat(updatedEmployee.getEmail()).isEqualTo("test@gmail.com");
+        assertThat(employeeService.getEmployeeById(1L).get().getEmail()).isEqualTo("test@gmail.com");
+        assertThat(employeeService.getEmployeeByEmail("test@gmail.com")).isPresent();
+
+        given(delegate.getEmployeeByEmail("m.o.aydogdu@outlook.com")).willReturn(Optional.empty());
+        assertThat(employeeService.getEmployeeByEmail("m.o.aydogdu@outlook.com")).isEmpty();
+        verify(delegate, Mockito.times(1)).getEmployeeById(1L);
+    }
+
+    @DisplayName("JUnit Test : delete employee evicts the cached entry")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenReloadFromDatabase() {
+        // given
+        given(delegate.getEmployeeById(1L))
+                .willReturn(Optional.of(employee))
+                .willReturn(Optional.empty());
+        employeeService.getEmployeeById(1L);
+
+        // when
+        employeeService.deleteEmployeeById(1L);
+
+        // then
+        assertThat(employeeService.getEmployeeById(1L)).isEmpty();
+        verify(delegate, Mockito.times(2)).getEmployeeById(1L);
+    }
+
+    @DisplayName("JUnit Test : delete employee evicts an entry reloaded while the delete ran")
+    @Test
+    public void givenReadDuringDelete_whenDeleteEmployee_thenDeletedEmployeeIsNotServed() {
+        // given
+        given(delegate.getEmployeeById(1L))
+                .willReturn(Optional.of(employee))
+                .willReturn(Optional.empty());
+        given(delegate.deleteEmployeeById(1L)).willAnswer(invocation -> {
+            // a concurrent read between the first eviction and the commit
+            employeeService.getEmployeeById(1L);
+            return 1;
+        });
+
+        // when
+        employeeService.deleteEmployeeById(1L);
+
+        // then
+        assertThat(employeeService.getEmployeeById(1L)).isEmpty();
+        verify(delegate, Mockito.times(2)).getEmployeeById(1L);
+    }
+
+    @DisplayName("JUnit Test : save employee rejects an email that is already cached")
+    @Test
+    public void givenCachedEmail_whenSaveEmployee_thenThrowsWithoutDatabaseCall() {
+        // given
+        given(delegate.saveEmployee(employee)).willReturn(employee);
+        employeeService.saveEmployee(employee);
+
+        Employee duplicate = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email(employee.getEmail())
+                .build();
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(
+                ResourceNotFoundException.class,
+                () -> employeeService.saveEmployee(duplicate)
+        );
+
+        // then
+        verify(delegate, Mockito.never()).saveEmployee(duplicate);
+    }
+
+    @DisplayName("JUnit Test : update employee fields evicts the cached entry")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployeeFields_thenReloadFromDatabase() {
+        // given
+        Employee changes = Employee.builder().email("test@gmail.com").build();
+        given(delegate.getEmployeeById(1L))
+                .willReturn(Optional.of(employee))
+                .willReturn(Optional.of(employee.toBuilder().email("test@gmail.com").build()));
+        given(delegate.updateEmployeeFields(1L, null, changes))
+                .willReturn(Optional.of(employee.toBuilder().email("test@gmail.com").build()));
+        employeeService.getEmployeeById(1L);
+
+        // when
+        employeeService.updateEmployeeFields(1L, null, changes);
+
+        // then
+        assertThat(employeeService.getEmployeeById(1L).get().getEmail()).isEqualTo("test@gmail.com");
+        verify(delegate, Mockito.times(2)).getEmployeeById(1L);
+    }
+
+    @DisplayName("JUnit Test : employee version is served from the cached entry")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeVersion_thenServeFromCache() {
+        // given
+        employee.setVersion(4L);
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+
+        // when
+        Optional<Long> version = employeeService.getEmployeeVersion(1L);
+
+        // then
+        assertThat(version).contains(4L);
+        verify(delegate, Mockito.never()).getEmployeeVersion(1L);
+    }
+
+    @DisplayName("JUnit Test : get employees by ids only sends the uncached ids to the delegate")
+    @Test
+    public void givenSomeCachedEmployees_whenGetEmployeesByIds_thenLoadTheOthers() {
+        // given
+        given(delegate.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+        EmployeeView other = new EmployeeView(3L, "Other", "Employee", "other@outlook.com");
+        given(delegate.getEmployeesByIds(List.of(3L, 2L)))
+                .willReturn(new EmployeeLookupResult(List.of(other), List.of(2L)));
+
+        // when
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(3L, 1L, 2L));
+
+        // then
+        assertThat(result.employees())
+                .extracting(EmployeeView::id)
+                .containsExactly(3L, 1L);
+        assertThat(result.missingIds()).containsExactly(2L);
+    }
+}
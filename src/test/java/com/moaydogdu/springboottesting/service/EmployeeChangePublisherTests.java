@@ -0,0 +1,187 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.repository.EmployeeChangeRepository;
+import com.moaydogdu.springboottesting.service.impl.EmployeeChangePublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeChangePublisherTests {
+
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    private EmployeeProperties employeeProperties;
+
+    private EmployeeChangePublisher publisher;
+
+    @BeforeEach
+    public void setup() {
+        employeeProperties = new EmployeeProperties();
+        employeeProperties.getChanges().setGapTimeout(Duration.ofHours(1));
+        publisher = new EmployeeChangePublisher(employeeChangeRepository, employeeProperties, new SimpleMeterRegistry());
+    }
+
+    @DisplayName("JUnit Test : a waiting long poll completes with the next published change")
+    @Test
+    public void givenWaitingPoll_whenChangePublished_thenCompleteIt() {
+        // given
+        CompletableFuture<List<EmployeeChange>> poll = publisher.getChanges(0L, 100);
+        given(employeeChangeRepository.findChangesAfter(eq(0L), anyLong(), anyInt()))
+                .willReturn(List.of(change(1L)));
+
+        // when
+        boolean completedBefore = poll.isDone();
+        publisher.publishPending();
+
+        // then
+        assertThat(completedBefore).isFalse();
+        assertThat(poll.join()).extracting(EmployeeChange::getId).containsExactly(1L);
+    }
+
+    @DisplayName("JUnit Test : changes behind a missing sequence wait until it commits")
+    @Test
+    public void givenGap_whenPublishPending_thenHoldBackLaterChanges() {
+        // given
+        given(employeeChangeRepository.findChangesAfter(eq(0L), anyLong(), anyInt()))
+                .willReturn(List.of(change(2L)))
+                .willReturn(List.of(change(1L), change(2L)));
+
+        // when
+        publisher.publishPending();
+        List<EmployeeChange> whileMissing = publisher.getChanges(0L, 100).getNow(null);
+        publisher.publishPending();
+        List<EmployeeChange> afterCommit = publisher.getChanges(0L, 100).join();
+
+        // then
+        assertThat(whileMissing).isNull();
+        assertThat(afterCommit).extracting(EmployeeChange::getId).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("JUnit Test : a missing sequence is skipped after the gap timeout")
+    @Test
+    public void givenExpiredGap_whenPublishPending_thenSkipMissingSequence() {
+        // given
+        employeeProperties.getChanges().setGapTimeout(Duration.ZERO);
+        given(employeeChangeRepository.findChangesAfter(eq(0L), anyLong(), anyInt()))
+                .willReturn(List.of(change(2L)));
+
+        // when
+        publisher.publishPending();
+        publisher.publishPending();
+
+        // then
+        assertThat(publisher.getChanges(0L, 100).join()).extracting(EmployeeChange::getId).containsExactly(2L);
+    }
+
+    @DisplayName("JUnit Test : a change committing after the gap timeout is moved to the end of the feed")
+    @Test
+    public void givenLateCommit_whenPublishPending_thenPublishAtNewSequence() {
+        // given
+        employeeProperties.getChanges().setGapTimeout(Duration.ZERO);
+        given(employeeChangeRepository.findChangesAfter(eq(0L), anyLong(), anyInt()))
+                .willReturn(List.of(change(2L)));
+        publisher.publishPending();
+        publisher.publishPending();
+        given(employeeChangeRepository.findChangesIn(List.of(1L)))
+                .willReturn(List.of(change(1L)));
+        given(employeeChangeRepository.moveToEnd(any()))
+                .willReturn(true);
+        given(employeeChangeRepository.findChangesAfter(eq(2L), anyLong(), anyInt()))
+                .willReturn(List.of(change(3L, 1L)));
+
+        // when
+        publisher.publishPending();
+        publisher.publishPending();
+
+        // then
+        assertThat(publisher.getChanges(2L, 100).join())
+                .extracting(EmployeeChange::getEmployeeId)
+                .containsExactly(1L);
+        verify(employeeChangeRepository, Mockito.times(1)).moveToEnd(any());
+        verify(employeeChangeRepository, Mockito.times(1)).findChangesIn(any());
+    }
+
+    @DisplayName("JUnit Test : a skipped sequence is given up after the late commit timeout")
+    @Test
+    public void givenExpiredLateCommitTimeout_whenPublishPending_thenStopLookingForSequence() {
+        // given
+        employeeProperties.getChanges().setGapTimeout(Duration.ZERO);
+        employeeProperties.getChanges().setLateCommitTimeout(Duration.ZERO);
+        given(employeeChangeRepository.findChangesAfter(eq(0L), anyLong(), anyInt()))
+                .willReturn(List.of(change(2L)));
+        publisher.publishPending();
+        publisher.publishPending();
+
+        // when
+        publisher.publishPending();
+
+        // then
+        verify(employeeChangeRepository, Mockito.never()).findChangesIn(any());
+    }
+
+    @DisplayName("JUnit Test : changes older than the buffer are read up to the published sequence")
+    @Test
+    public void givenSinceBeforeBuffer_whenGetChanges_thenReadFromRepository() {
+        // given
+        employeeProperties.getChanges().setBufferSize(2);
+        given(employeeChangeRepository.findChangesAfter(0L, Long.MAX_VALUE, 500))
+                .willReturn(List.of(change(1L), change(2L), change(3L)));
+        given(employeeChangeRepository.findChangesAfter(0L, 3L, 10))
+                .willReturn(List.of(change(1L), change(2L), change(3L)));
+        publisher.publishPending();
+
+        // when
+        List<EmployeeChange> fromTable = publisher.getChanges(0L, 10).join();
+        List<EmployeeChange> fromBuffer = publisher.getChanges(1L, 1).join();
+
+        // then
+        assertThat(fromTable).hasSize(3);
+        assertThat(fromBuffer).extracting(EmployeeChange::getId).containsExactly(2L);
+    }
+
+    @DisplayName("JUnit Test : a long poll without changes completes empty after the timeout")
+    @Test
+    public void givenNoChanges_whenLongPollTimesOut_thenCompleteEmpty() {
+        // given
+        employeeProperties.getChanges().setLongPollTimeout(Duration.ofMillis(50));
+
+        // when
+        List<EmployeeChange> changes = publisher.getChanges(0L, 100).join();
+
+        // then
+        assertThat(changes).isEmpty();
+    }
+
+    private static EmployeeChange change(long id) {
+        return change(id, id);
+    }
+
+    private static EmployeeChange change(long id, long employeeId) {
+        return EmployeeChange.builder()
+                .id(id)
+                .employeeId(employeeId)
+                .type(EmployeeChange.Type.CREATED)
+                .build();
+    }
+}
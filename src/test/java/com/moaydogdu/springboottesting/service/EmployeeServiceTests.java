@@ -1,24 +1,53 @@
 package com.moaydogdu.springboottesting.service;
 
+import com.moaydogdu.springboottesting.config.EmployeeProperties;
 import com.moaydogdu.springboottesting.exception.ResourceNotFoundException;
+import com.moaydogdu.springboottesting.model.dto.EmployeeImportResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeeLookupResult;
+import com.moaydogdu.springboottesting.model.dto.EmployeePage;
+import com.moaydogdu.springboottesting.model.dto.EmployeeQuery;
 import com.moaydogdu.springboottesting.model.entity.Employee;
+import com.moaydogdu.springboottesting.model.entity.EmployeeChange;
+import com.moaydogdu.springboottesting.model.event.EmployeesDeletedEvent;
+import com.moaydogdu.springboottesting.model.projection.EmployeeView;
+import com.moaydogdu.springboottesting.repository.EmployeeChangeRepository;
 import com.moaydogdu.springboottesting.repository.EmployeeRepository;
+import com.moaydogdu.springboottesting.search.EmployeeSearchIndexer;
 import com.moaydogdu.springboottesting.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -30,8 +59,24 @@ public class EmployeeServiceTests {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Spy
+    private EmployeeProperties employeeProperties = new EmployeeProperties();
+    @Mock
+    private ObjectProvider<EmployeeSearchIndexer> employeeSearchIndexerProvider;
+    @Mock
+    private EmployeeSearchIndexer employeeSearchIndexer;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private EmployeeServiceImpl employeeService;
+    @Captor
+    private ArgumentCaptor<List<EmployeeChange>> changesCaptor;
 
     private Employee employee;
 
@@ -55,10 +100,7 @@ public class EmployeeServiceTests {
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject() {
 
         // given
-        given(employeeRepository.findEmployeeByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-
-        given(employeeRepository.save(employee))
+        given(employeeRepository.saveAndFlush(employee))
                 .willReturn(employee);
 
         // when
@@ -66,6 +108,8 @@ public class EmployeeServiceTests {
 
         // then
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, Mockito.never())
+                .findEmployeeByEmail(any());
 
     }
 
@@ -75,8 +119,15 @@ public class EmployeeServiceTests {
     public void givenExistinEmail_whenSaveEmployee_thenThrowsException() {
 
         // given
-        given(employeeRepository.findEmployeeByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException(
+                        "Duplicate entry",
+                        new ConstraintViolationException(
+                                "Duplicate entry",
+                                new SQLException("Duplicate entry"),
+                                "employees." + Employee.EMAIL_UNIQUE_CONSTRAINT
+                        )
+                ));
 
         // when
         org.junit.jupiter.api.Assertions.assertThrows(
@@ -86,7 +137,34 @@ public class EmployeeServiceTests {
 
         // then
         Mockito.verify(employeeRepository, Mockito.never())
-                .save(any(Employee.class));
+                .findEmployeeByEmail(any());
+    }
+
+    // JUnit test for saveEmployee method with a violation other than the email constraint
+    @DisplayName("JUnit Test : save employee method rethrows other integrity violations")
+    @Test
+    public void givenMissingColumn_whenSaveEmployee_thenRethrowsViolation() {
+
+        // given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "Column 'first_name' cannot be null",
+                new ConstraintViolationException(
+                        "Column 'first_name' cannot be null",
+                        new SQLException("Column 'first_name' cannot be null"),
+                        null
+                )
+        );
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(violation);
+
+        // when
+        DataIntegrityViolationException thrown = org.junit.jupiter.api.Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> employeeService.saveEmployee(employee)
+        );
+
+        // then
+        assertThat(thrown).isSameAs(violation);
     }
 
     // JUnit test for getAllEmployees method
@@ -147,6 +225,131 @@ public class EmployeeServiceTests {
 
     }
 
+    // JUnit test for getEmployeeByEmail method
+    @DisplayName("JUnit Test : get employee by email method resolves the natural id")
+    @Test
+    public void givenEmployeeEmail_whenGetEmployeeByEmail_thenLoadByNaturalId(){
+        // given
+        given(employeeRepository.findByNaturalEmail(employee.getEmail()))
+                .willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> employeeFromDb = employeeService.getEmployeeByEmail(employee.getEmail());
+
+        // then
+        assertThat(employeeFromDb).contains(employee);
+        verify(employeeRepository, Mockito.never())
+                .findEmployeeByEmail(any());
+    }
+
+    // JUnit test for getEmployeesByIds method
+    @DisplayName("JUnit Test : get employees by ids method keeps the request order and reports missing ids")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenKeepOrderAndReportMissing(){
+        // given
+        Employee other = employee.toBuilder().id(3L).email("other@outlook.com").build();
+        given(employeeRepository.loadInOrder(List.of(3L, 2L, 1L), employeeProperties.getBatch().getChunkSize()))
+                .willReturn(Arrays.asList(other, null, employee));
+
+        // when
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(3L, 2L, 1L, 3L));
+
+        // then
+        assertThat(result.employees())
+                .extracting(EmployeeView::id)
+                .containsExactly(3L, 1L);
+        assertThat(result.missingIds()).containsExactly(2L);
+    }
+
+    // JUnit test for getEmployeesByIds method (negative scenario)
+    @DisplayName("JUnit Test : get employees by ids method rejects more ids than the maximum")
+    @Test
+    public void givenTooManyEmployeeIds_whenGetEmployeesByIds_thenThrowsException(){
+        // given
+        employeeProperties.getLookup().setMaxIds(2);
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeesByIds(List.of(1L, 2L, 3L))
+        );
+
+        // then
+        verify(employeeRepository, Mockito.never()).loadInOrder(any(), Mockito.anyInt());
+    }
+
+    // JUnit test for findEmployees method
+    @DisplayName("JUnit Test : find employees method pages on the planned index without a count")
+    @Test
+    public void givenLastNameQuery_whenFindEmployees_thenSkipCountQuery(){
+        // given
+        EmployeeQuery query = new EmployeeQuery(null, "AYDOĞDU", null, null, null, Sort.unsorted(), 1, 5000, false);
+        given(employeeRepository.findViews(any(), Mockito.eq(PageRequest.of(1, 1000, Sort.by("id")))))
+                .willReturn(new SliceImpl<>(List.of(EmployeeView.of(employee)), PageRequest.of(1, 1000), true));
+
+        // when
+        EmployeePage page = employeeService.findEmployees(query);
+
+        // then
+        assertThat(page.employees()).hasSize(1);
+        assertThat(page.size()).isEqualTo(1000);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.total()).isNull();
+        assertThat(page.index()).isEqualTo("idx_employees_last_name");
+        verify(employeeRepository, Mockito.never()).countUpTo(any(), Mockito.anyInt());
+    }
+
+    // JUnit test for findEmployees method with a total
+    @DisplayName("JUnit Test : find employees method counts a total up to the maximum scan rows")
+    @Test
+    public void givenTotalQuery_whenFindEmployees_thenCountUpToMaxScanRows(){
+        // given
+        EmployeeQuery query = new EmployeeQuery(null, "AYDOĞDU", null, null, null, Sort.unsorted(), 0, 20, true);
+        given(employeeRepository.countUpTo(any(), Mockito.eq(10_001)))
+                .willReturn(42);
+        given(employeeRepository.findViews(any(), any()))
+                .willReturn(new SliceImpl<>(List.of(EmployeeView.of(employee)), PageRequest.of(0, 20), true));
+
+        // when
+        EmployeePage page = employeeService.findEmployees(query);
+
+        // then
+        assertThat(page.total()).isEqualTo(42L);
+    }
+
+    // JUnit test for findEmployees method with a total beyond the maximum scan rows
+    @DisplayName("JUnit Test : find employees method refuses a total beyond the maximum scan rows")
+    @Test
+    public void givenTotalBeyondMaxScanRows_whenFindEmployees_thenThrowsException(){
+        // given
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, null, Sort.unsorted(), 0, 20, true);
+        given(employeeRepository.countUpTo(any(), Mockito.eq(10_001)))
+                .willReturn(10_001);
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> employeeService.findEmployees(query)
+        );
+
+        // then
+        verify(employeeRepository, Mockito.never()).findViews(any(), any());
+    }
+
+    // JUnit test for findEmployees method (negative scenario)
+    @DisplayName("JUnit Test : find employees method rejects pages beyond the maximum offset")
+    @Test
+    public void givenDeepPage_whenFindEmployees_thenThrowsException(){
+        // given
+        EmployeeQuery query = new EmployeeQuery(null, "AYDOĞDU", null, null, null, Sort.unsorted(), 1000, 20, true);
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> employeeService.findEmployees(query)
+        );
+
+        // then
+        verify(employeeRepository, Mockito.never()).findViews(any(), any());
+    }
+
     // JUnit test for  updateEmployee method
     @DisplayName("JUnit Test : update employee method")
     @Test
@@ -172,17 +375,410 @@ public class EmployeeServiceTests {
         // given
         long employeeId = 1L;
 
-        BDDMockito.willDoNothing()
-                .given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteEmployeeById(employeeId))
+                .willReturn(1);
         // when
 
-        employeeService.deleteEmployeeById(employeeId);
+        int deleted = employeeService.deleteEmployeeById(employeeId);
 
         // then
+        assertThat(deleted).isEqualTo(1);
         verify(employeeRepository, Mockito.times(1))
+                .deleteEmployeeById(employeeId);
+        verify(employeeRepository, Mockito.never())
                 .deleteById(employeeId);
+        verify(eventPublisher, Mockito.times(1))
+                .publishEvent(new EmployeesDeletedEvent(List.of(employeeId)));
+
+    }
+
+    // JUnit test for deleteEmployeeById method
+    @DisplayName("JUnit Test : delete employee method publishes nothing when no row was deleted")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenPublishNoEvent(){
+        // given
+        given(employeeRepository.deleteEmployeeById(1L))
+                .willReturn(0);
+
+        // when
+        int deleted = employeeService.deleteEmployeeById(1L);
+
+        // then
+        assertThat(deleted).isZero();
+        verify(eventPublisher, Mockito.never())
+                .publishEvent(any());
+    }
+
+    // JUnit test for getEmployeesAfter method
+    @DisplayName("JUnit Test : get employees after id method caps the page size")
+    @Test
+    public void givenOversizedLimit_whenGetEmployeesAfter_thenQueryWithCappedPageSize(){
+        // given
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                0L,
+                PageRequest.of(0, 1000)
+        )).willReturn(List.of(employee));
+
+        // when
+        List<Employee> employeeList = employeeService.getEmployeesAfter(0L, 50_000);
+
+        // then
+        assertThat(employeeList).hasSize(1);
+    }
+
+    // JUnit test for getEmployeeViewsAfter method
+    @DisplayName("JUnit Test : get employee views after id method defaults to the configured page size")
+    @Test
+    public void givenNoLimit_whenGetEmployeeViewsAfter_thenQueryDefaultPageSize(){
+        // given
+        employeeProperties.getQuery().setDefaultPageSize(20);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                5L,
+                PageRequest.of(0, 20),
+                EmployeeView.class
+        )).willReturn(List.of(EmployeeView.of(employee)));
+
+        // when
+        List<EmployeeView> views = employeeService.getEmployeeViewsAfter(5L, 0);
+
+        // then
+        assertThat(views).hasSize(1);
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit Test : save employees method reports a result per row")
+    @Test
+    public void givenEmployeeRows_whenSaveEmployees_thenReturnResultPerRow(){
+        // given
+        employeeProperties.getBatch().setChunkSize(2);
+
+        Employee existing = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+        Employee incomplete = Employee.builder()
+                .firstName("Nurettin")
+                .build();
+        Employee newEmployee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("M.O.Aydogdu@outlook.com")
+                .build();
+        Employee sameEmailInChunk = Employee.builder()
+                .firstName("Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("m.o.aydogdu@outlook.com")
+                .build();
+
+        given(employeeRepository.findExistingEmails(any()))
+                .willReturn(Set.of("NurettinBasturk@gmail.com"))
+                .willReturn(Set.of());
+        BDDMockito.willAnswer(invocation -> {
+                    List<Employee> inserted = invocation.getArgument(0);
+                    inserted.forEach(e -> e.setId(42L));
+                    return null;
+                })
+                .given(employeeRepository)
+                .batchInsert(any());
+
+        // when
+        List<EmployeeImportResult> results = employeeService.saveEmployees(
+                List.of(existing, incomplete, newEmployee, sameEmailInChunk).iterator()
+        );
+
+        // then
+        assertThat(results)
+                .extracting(EmployeeImportResult::status)
+                .containsExactly(
+                        EmployeeImportResult.Status.DUPLICATE,
+                        EmployeeImportResult.Status.INVALID,
+                        EmployeeImportResult.Status.CREATED,
+                        EmployeeImportResult.Status.DUPLICATE
+                );
+        assertThat(results.get(2).id()).isEqualTo(42L);
+        assertThat(results).extracting(EmployeeImportResult::index).containsExactly(0, 1, 2, 3);
+        verify(employeeRepository, Mockito.times(1)).batchInsert(List.of(newEmployee));
+    }
+
+    // JUnit test for saveEmployees method when another writer takes an email mid-import
+    @DisplayName("JUnit Test : save employees method retries a conflicting chunk row by row")
+    @Test
+    public void givenEmailTakenConcurrently_whenSaveEmployees_thenReportDuplicateForThatRowOnly(){
+        // given
+        Employee taken = Employee.builder()
+                .firstName("Nurettin")
+                .lastName("BAŞTÜRK")
+                .email("nurettinbasturk@gmail.com")
+                .build();
+        Employee newEmployee = Employee.builder()
+                .firstName("Muhammet Oğuzhan")
+                .lastName("AYDOĞDU")
+                .email("M.O.Aydogdu@outlook.com")
+                .build();
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException(
+                "Duplicate entry",
+                new ConstraintViolationException(
+                        "Duplicate entry",
+                        new SQLException("Duplicate entry"),
+                        "employees." + Employee.EMAIL_UNIQUE_CONSTRAINT
+                )
+        );
+
+        given(employeeRepository.findExistingEmails(any())).willReturn(Set.of());
+        BDDMockito.willAnswer(invocation -> {
+                    List<Employee> inserted = invocation.getArgument(0);
+                    if (inserted.contains(taken)) {
+                        throw duplicate;
+                    }
+                    inserted.forEach(e -> e.setId(42L));
+                    return null;
+                })
+                .given(employeeRepository)
+                .batchInsert(any());
+
+        // when
+        List<EmployeeImportResult> results = employeeService.saveEmployees(
+                List.of(taken, newEmployee).iterator()
+        );
+
+        // then
+        assertThat(results)
+                .extracting(EmployeeImportResult::status)
+                .containsExactly(
+                        EmployeeImportResult.Status.DUPLICATE,
+                        EmployeeImportResult.Status.CREATED
+                );
+        assertThat(results.get(1).id()).isEqualTo(42L);
+        verify(employeeRepository).batchInsert(List.of(taken, newEmployee));
+        verify(employeeRepository).batchInsert(List.of(newEmployee));
+    }
+
+    // JUnit test for searchEmployeesByName method
+    @DisplayName("JUnit Test : search employees by name method caps the result size")
+    @Test
+    public void givenOversizedLimit_whenSearchEmployeesByName_thenQueryWithCappedPageSize(){
+        // given
+        given(employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(
+                employee.getFirstName(),
+                employee.getLastName(),
+                PageRequest.of(0, 100),
+                Employee.class
+        )).willReturn(List.of(employee));
+
+        // when
+        List<Employee> employeeList = employeeService.searchEmployeesByName(
+                employee.getFirstName(),
+                employee.getLastName(),
+                10_000
+        );
+
+        // then
+        assertThat(employeeList).containsExactly(employee);
+    }
+
+    // JUnit test for searchEmployees method
+    @DisplayName("JUnit Test : search employees method caps the result size")
+    @Test
+    public void givenOversizedLimit_whenSearchEmployees_thenSearchIndexWithCappedLimit(){
+        // given
+        EmployeeView employeeView = EmployeeView.of(employee);
+        given(employeeSearchIndexerProvider.getIfAvailable())
+                .willReturn(employeeSearchIndexer);
+        given(employeeSearchIndexer.search("aydo", 100))
+                .willReturn(List.of(employeeView));
+
+        // when
+        Optional<List<EmployeeView>> employeeList = employeeService.searchEmployees("aydo", 10_000);
+
+        // then
+        assertThat(employeeList).contains(List.of(employeeView));
+        verify(employeeRepository, Mockito.never())
+                .findAll();
+    }
+
+    // JUnit test for searchEmployees method without the search index
+    @DisplayName("JUnit Test : search employees method without employee.search.enabled")
+    @Test
+    public void givenSearchDisabled_whenSearchEmployees_thenReturnEmpty(){
+        // given
+        given(employeeSearchIndexerProvider.getIfAvailable())
+                .willReturn(null);
+
+        // when
+        Optional<List<EmployeeView>> employeeList = employeeService.searchEmployees("aydo", 20);
+
+        // then
+        assertThat(employeeList).isEmpty();
+        verify(employeeRepository, Mockito.never())
+                .findAll();
+    }
+
+    // JUnit test for updateEmployeeFields method
+    @DisplayName("JUnit Test : update employee fields method issues one update without loading the employee")
+    @Test
+    public void givenPartialEmployee_whenUpdateEmployeeFields_thenUpdateOnlyGivenColumns(){
+        // given
+        Employee changes = Employee.builder()
+                .email("test@gmail.com")
+                .build();
+        given(employeeRepository.updateFields(1L, null, null, null, "test@gmail.com"))
+                .willReturn(1);
+        given(employeeRepository.updateFields(2L, null, null, null, "test@gmail.com"))
+                .willReturn(0);
+        given(employeeRepository.findDetachedById(1L))
+                .willReturn(Optional.of(employee.toBuilder().id(1L).email("test@gmail.com").version(4L).build()));
+
+        // when
+        Optional<Employee> updated = employeeService.updateEmployeeFields(1L, null, changes);
+        Optional<Employee> missing = employeeService.updateEmployeeFields(2L, null, changes);
 
+        // then
+        assertThat(updated).get().extracting(Employee::getVersion).isEqualTo(4L);
+        assertThat(missing).isEmpty();
+        verify(employeeRepository, Mockito.never()).findById(any());
+        verify(employeeRepository, Mockito.never()).save(any());
+    }
+
+    // JUnit test for updateEmployeeFields method which throws exception
+    @DisplayName("JUnit Test : update employee fields method maps the unique email violation")
+    @Test
+    public void givenExistingEmail_whenUpdateEmployeeFields_thenThrowsException(){
+        // given
+        given(employeeRepository.updateFields(1L, null, null, null, "test@gmail.com"))
+                .willThrow(new DuplicateKeyException(
+                        "Duplicate entry",
+                        new SQLIntegrityConstraintViolationException(
+                                "Duplicate entry 'test@gmail.com' for key 'employees."
+                                        + Employee.EMAIL_UNIQUE_CONSTRAINT + "'"
+                        )
+                ));
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(
+                ResourceNotFoundException.class,
+                () -> employeeService.updateEmployeeFields(
+                        1L,
+                        null,
+                        Employee.builder().email("test@gmail.com").build()
+                )
+        );
+    }
+
+    // JUnit test for updateEmployeeFields method with a stale expected version
+    @DisplayName("JUnit Test : update employee fields method rejects a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployeeFields_thenThrowsOptimisticLockingFailure(){
+        // given
+        Employee changes = Employee.builder()
+                .email("test@gmail.com")
+                .build();
+        given(employeeRepository.updateFields(1L, 3L, null, null, "test@gmail.com"))
+                .willReturn(0);
+        given(employeeRepository.existsById(1L))
+                .willReturn(true);
+
+        // when
+        org.junit.jupiter.api.Assertions.assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> employeeService.updateEmployeeFields(1L, 3L, changes)
+        );
+    }
+
+    // JUnit test for deleteEmployeesByIds method
+    @DisplayName("JUnit Test : delete employees by ids method deletes distinct ids in chunks")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployeesByIds_thenDeleteInChunks(){
+        // given
+        employeeProperties.getBatch().setChunkSize(2);
+        given(employeeRepository.deleteEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(List.of(1L, 2L));
+        given(employeeRepository.deleteEmployeesByIds(List.of(3L)))
+                .willReturn(List.of());
+
+        // when
+        int deleted = employeeService.deleteEmployeesByIds(List.of(1L, 2L, 2L, 3L));
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository, Mockito.times(2)).deleteEmployeesByIds(any());
+    }
+
+    // JUnit test for the outbox rows of saveEmployee
+    @DisplayName("JUnit Test : save employee method records a CREATED change")
+    @Test
+    public void givenEmployeeObject_whenSaveEmployee_thenRecordCreatedChange() {
+        // given
+        given(employeeRepository.saveAndFlush(employee))
+                .willReturn(employee);
+
+        // when
+        employeeService.saveEmployee(employee);
+
+        // then
+        verify(employeeChangeRepository).insertChanges(changesCaptor.capture());
+        assertThat(changesCaptor.getValue())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(EmployeeChange.of(EmployeeChange.Type.CREATED, EmployeeView.of(employee)));
+    }
+
+    // JUnit test for the outbox rows of updateEmployeeFields
+    @DisplayName("JUnit Test : partial update records the whole row as read back")
+    @Test
+    public void givenChanges_whenUpdateEmployeeFields_thenRecordUpdatedRow() {
+        // given
+        Employee changes = Employee.builder().lastName("Walker").build();
+        EmployeeView updated = new EmployeeView(1L, employee.getFirstName(), "Walker", employee.getEmail());
+        given(employeeRepository.updateFields(1L, null, null, "Walker", null))
+                .willReturn(1);
+        given(employeeRepository.findDetachedById(1L))
+                .willReturn(Optional.of(employee.toBuilder().id(1L).lastName("Walker").build()));
+
+        // when
+        employeeService.updateEmployeeFields(1L, null, changes);
+
+        // then
+        verify(employeeChangeRepository).insertChanges(changesCaptor.capture());
+        assertThat(changesCaptor.getValue())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(EmployeeChange.of(EmployeeChange.Type.UPDATED, updated));
     }
 
+    // JUnit test for updateEmployeeFields method without any field
+    @DisplayName("JUnit Test : update employee fields method without fields records and publishes nothing")
+    @Test
+    public void givenNoChanges_whenUpdateEmployeeFields_thenRecordNothing() {
+        // given
+        given(employeeRepository.updateFields(1L, null, null, null, null))
+                .willReturn(1);
+        given(employeeRepository.findDetachedById(1L))
+                .willReturn(Optional.of(employee));
+
+        // when
+        Optional<Employee> updated = employeeService.updateEmployeeFields(1L, null, Employee.builder().build());
+
+        // then
+        assertThat(updated).contains(employee);
+        verify(employeeChangeRepository, Mockito.never()).insertChanges(any());
+        verify(eventPublisher, Mockito.never()).publishEvent(any());
+    }
 
+    // JUnit test for the outbox rows of deleteEmployeesByName
+    @DisplayName("JUnit Test : delete employees by name method records the deleted ids as DELETED")
+    @Test
+    public void givenEmployeeName_whenDeleteEmployeesByName_thenRecordDeletedChanges() {
+        // given
+        given(employeeRepository.deleteEmployeesByName("John", "Doe"))
+                .willReturn(List.of(4L, 9L));
+
+        // when
+        int deleted = employeeService.deleteEmployeesByName("John", "Doe");
+
+        // then
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeChangeRepository).insertChanges(changesCaptor.capture());
+        assertThat(changesCaptor.getValue())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(EmployeeChange.deleted(4L), EmployeeChange.deleted(9L));
+    }
 }
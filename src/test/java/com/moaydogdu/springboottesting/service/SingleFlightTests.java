@@ -0,0 +1,189 @@
+package com.moaydogdu.springboottesting.service;
+
+import com.moaydogdu.springboottesting.service.impl.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+
+    private AtomicInteger loads;
+
+    private CountDownLatch leaderStarted;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+        loads = new AtomicInteger();
+        leaderStarted = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @DisplayName("JUnit Test : concurrent loads of the same key share one call and get their own copy")
+    @Test
+    public void givenConcurrentLoads_whenLoad_thenCallLoaderOnce() throws Exception {
+        // given
+        SingleFlight<Long, StringBuilder> singleFlight = newSingleFlight(10);
+        Future<StringBuilder> leader = executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        leaderStarted.await();
+
+        // when
+        List<Future<StringBuilder>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(executor.submit(() -> singleFlight.load(1L, this::blockingLoad)));
+        }
+        awaitRequests("coalesced", 3);
+        release.countDown();
+
+        // then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).hasToString("employee-1");
+        for (Future<StringBuilder> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS))
+                    .hasToString("employee-1")
+                    .isNotSameAs(leader.get());
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit Test : a failed load fails its waiters and is tried again by the next caller")
+    @Test
+    public void givenFailingLoad_whenLoad_thenWaitersGetTheExceptionAndNothingIsKept() throws Exception {
+        // given
+        SingleFlight<Long, StringBuilder> singleFlight = newSingleFlight(10);
+        Future<StringBuilder> leader = executor.submit(() -> singleFlight.load(1L, key -> {
+            blockingLoad(key);
+            throw new IllegalStateException("connection lost");
+        }));
+        leaderStarted.await();
+
+        // when
+        Future<StringBuilder> waiter = executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        awaitRequests("coalesced", 1);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .hasRootCauseMessage("connection lost");
+        assertThat(singleFlight.load(1L, this::blockingLoad)).hasToString("employee-1");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit Test : callers beyond max waiters load on their own")
+    @Test
+    public void givenFullFlight_whenLoad_thenOverflowLoadsItself() throws Exception {
+        // given
+        SingleFlight<Long, StringBuilder> singleFlight = newSingleFlight(1);
+        executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        leaderStarted.await();
+        executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        awaitRequests("coalesced", 1);
+
+        // when
+        StringBuilder overflow = singleFlight.load(1L, key -> new StringBuilder("own-" + key));
+
+        // then
+        assertThat(overflow).hasToString("own-1");
+        assertThat(requests("overflow")).isEqualTo(1.0);
+    }
+
+    @DisplayName("JUnit Test : a waiter stops waiting after max wait and loads on its own")
+    @Test
+    public void givenSlowLoad_whenWaitLongerThanMaxWait_thenLoadItself() throws Exception {
+        // given
+        SingleFlight<Long, StringBuilder> singleFlight = newSingleFlight(10, Duration.ofMillis(50));
+        Future<StringBuilder> leader = executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        leaderStarted.await();
+
+        // when
+        StringBuilder waiter = singleFlight.load(1L, key -> new StringBuilder("own-" + key));
+
+        // then
+        assertThat(waiter).hasToString("own-1");
+        assertThat(requests("coalesced")).isEqualTo(1.0);
+        assertThat(requests("timeout")).isEqualTo(1.0);
+        assertThat(leader.isDone()).isFalse();
+    }
+
+    @DisplayName("JUnit Test : a forgotten load takes no more waiters")
+    @Test
+    public void givenForgottenKey_whenLoad_thenStartNewLoad() throws Exception {
+        // given
+        SingleFlight<Long, StringBuilder> singleFlight = newSingleFlight(10);
+        executor.submit(() -> singleFlight.load(1L, this::blockingLoad));
+        leaderStarted.await();
+
+        // when
+        singleFlight.forget(1L);
+        StringBuilder employee = singleFlight.load(1L, key -> new StringBuilder("written-" + key));
+
+        // then
+        assertThat(employee).hasToString("written-1");
+        assertThat(requests("leader")).isEqualTo(2.0);
+        assertThat(requests("coalesced")).isZero();
+    }
+
+    private SingleFlight<Long, StringBuilder> newSingleFlight(int maxWaiters) {
+        return newSingleFlight(maxWaiters, Duration.ofSeconds(5));
+    }
+
+    private SingleFlight<Long, StringBuilder> newSingleFlight(int maxWaiters, Duration maxWait) {
+        return new SingleFlight<>("byId", maxWaiters, maxWait, StringBuilder::new, meterRegistry);
+    }
+
+    private StringBuilder blockingLoad(Long key) {
+        loads.incrementAndGet();
+        leaderStarted.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new StringBuilder("employee-" + key);
+    }
+
+    private void awaitRequests(String result, double count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests(result) < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("employee.coalescing.requests")
+                .tag("lookup", "byId")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}